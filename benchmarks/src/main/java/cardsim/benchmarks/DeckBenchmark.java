@@ -0,0 +1,61 @@
+package cardsim.benchmarks;
+
+import cardsim.basics.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+
+// Resetting, shuffling and drawing from a single 52-card Deck.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DeckBenchmark {
+
+    private Deck deck;
+    private SplittableRandom random;
+
+    @Setup
+    public void setup() {
+        deck = new Deck();
+        random = new SplittableRandom(1);
+    }
+
+    @Benchmark
+    public Deck reset() {
+        deck.reset();
+        return deck;
+    }
+
+    @Benchmark
+    public Deck resetAndShuffle() {
+        deck.reset();
+        deck.shuffle(random);
+        return deck;
+    }
+
+    // Draws four hands of 13 as lists.
+    @Benchmark
+    public void resetAndDraw(Blackhole blackhole) {
+        deck.reset();
+        for (int i = 0; i < 4; i++) {
+            blackhole.consume(deck.draw(13));
+        }
+    }
+
+    // Deals four hands of 13 straight into BitHands.
+    @Benchmark
+    public void resetAndDeal(Blackhole blackhole) {
+        deck.reset();
+        for (int i = 0; i < 4; i++) {
+            Hand hand = new BitHand();
+            deck.deal(13, hand);
+            blackhole.consume(hand);
+        }
+    }
+
+}
@@ -0,0 +1,46 @@
+package cardsim.benchmarks;
+
+import cardsim.games.durak.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+
+// Whole games of Durak between RandomDurakPlayers; one operation is one game.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class DurakGameBenchmark {
+
+    @Param({"2", "4", "6"})
+    public int players;
+
+    private DurakGame game;
+    private long[] points;
+    private long seed;
+
+    @Setup
+    public void setup() {
+        DurakPlayerImpls[] lineup = new DurakPlayerImpls[players];
+        Arrays.fill(lineup, DurakPlayerImpls.Random);
+        game = new DurakGame(lineup);
+        points = new long[game.playerCount()];
+        seed = 0;
+    }
+
+    @TearDown
+    public void tearDown() {
+        game.close();
+    }
+
+    // The path taken by BatchRunner, which writes the points into an array.
+    @Benchmark
+    public long[] game() throws DurakRuleViolationException {
+        game.game(seed++, points);
+        return points;
+    }
+
+}
@@ -0,0 +1,73 @@
+package cardsim.benchmarks;
+
+import cardsim.basics.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+
+// The queries a player makes of its hand on every turn, for each kind of hand.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HandBenchmark {
+
+    @Param({"OpenHand", "BitHand", "MultiHand"})
+    public String type;
+
+    private Hand hand;
+
+    // The cards dealt to the hand, to play in turn
+    private Card[] cards;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Deck deck = new Deck();
+        deck.shuffle(new SplittableRandom(1));
+        List<Card> dealt = deck.draw(13);
+        cards = dealt.toArray(new Card[0]);
+        if (type.equals("BitHand"))
+            hand = new BitHand(dealt);
+        else if (type.equals("MultiHand"))
+            hand = new MultiHand(dealt);
+        else
+            hand = new OpenHand(new ArrayList<>(dealt));
+        next = 0;
+    }
+
+    // Schedules a card for play and takes it back.
+    @Benchmark
+    public boolean playAndUnplay() {
+        Card card = cards[next];
+        next = (next + 1) % cards.length;
+        return hand.play(card) & hand.unplay(card);
+    }
+
+    @Benchmark
+    public List<Card> filterBySuit() {
+        Card card = cards[next];
+        next = (next + 1) % cards.length;
+        return hand.filterBySuit(card.suit);
+    }
+
+    @Benchmark
+    public int countBySuit() {
+        Card card = cards[next];
+        next = (next + 1) % cards.length;
+        return hand.countBySuit(card.suit);
+    }
+
+    // Sorts one way and then the other, reading the cards after each.
+    @Benchmark
+    public List<Card> sort() {
+        hand.sortRankSuit();
+        hand.getCards();
+        hand.sortSuitRank();
+        return hand.getCards();
+    }
+
+}
@@ -0,0 +1,102 @@
+package cardsim.benchmarks;
+
+import cardsim.basics.*;
+import cardsim.games.spades.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+
+// Solving four-player end positions double dummy for every player, with the
+// given number of tricks left. The time grows about tenfold with each trick,
+// which is what keeps the solver to end positions rather than whole deals.
+// Every operation deals a new position, since the solver's table would
+// otherwise remember the answers from the last time round.
+//
+// Before measuring, the solver is checked against a plain minimax search on
+// small positions, some of them in the middle of a trick, and the benchmark
+// fails if they ever disagree.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SpadesDoubleDummySolverBenchmark {
+
+    private static final int CHECKED = 500;
+
+    @Param({"4", "6", "8", "10"})
+    public int tricks;
+
+    private SpadesDoubleDummySolver solver;
+    private SplittableRandom random;
+    private Deck deck;
+    private SpadesState deal;
+
+    @Setup
+    public void setup() {
+        solver = new SpadesDoubleDummySolver();
+        check(new SplittableRandom(2));
+
+        random = new SplittableRandom(1);
+        deck = new Deck();
+        deal = new SpadesState(new int[] { 0, 1, 2, 3 }, tricks);
+    }
+
+    // Deals a new position and solves it for each of its players.
+    @Benchmark
+    public int[] solve() {
+        deck.reset();
+        deck.shuffle(random);
+        for (int id = 0; id < 4; id++)
+            deal.setHand(id, CardMask.of(deck.draw(tricks)));
+        return solver.solve(deal);
+    }
+
+    // Compares the solver with minimax on positions of three or four players
+    // with up to four tricks left, played some way into the first trick.
+    private void check(SplittableRandom random) {
+        Deck deck = new Deck();
+        for (int i = 0; i < CHECKED; i++) {
+            int players = 3 + random.nextInt(2);
+            int tricks = 2 + random.nextInt(players == 3 ? 3 : 2);
+            int[] order = new int[players];
+            for (int seat = 0; seat < players; seat++)
+                order[seat] = (seat + i) % players;
+
+            deck.reset();
+            deck.shuffle(random);
+            SpadesState state = new SpadesState(order, tricks);
+            for (int id = 0; id < players; id++)
+                state.setHand(id, CardMask.of(deck.draw(tricks)));
+            for (int played = random.nextInt(players); played > 0; played--) {
+                long legal = state.legalMoves();
+                state.makeMove(CardMask.nth(legal, random.nextInt(CardMask.count(legal))));
+            }
+
+            for (int id = 0; id < players; id++) {
+                int expected = minimax(state, id) - state.taken(id);
+                int solved = solver.solve(state, id);
+                if (solved != expected)
+                    throw new IllegalStateException("Solving position " + i + " for player " + id + " gave " + solved + " tricks instead of " + expected + ".");
+            }
+        }
+    }
+
+    // The tricks `playerID` ends the deal with, trying every card at every turn.
+    private static int minimax(SpadesState state, int playerID) {
+        if (state.isOver())
+            return state.taken(playerID);
+        boolean maximizing = state.toMove() == playerID;
+        int best = maximizing ? -1 : Integer.MAX_VALUE;
+        for (long moves = state.legalMoves(); moves != 0; moves &= (moves - 1)) {
+            state.makeMove(Long.numberOfTrailingZeros(moves));
+            int value = minimax(state, playerID);
+            state.unmakeMove();
+            best = maximizing ? Math.max(best, value) : Math.min(best, value);
+        }
+        return best;
+    }
+
+}
@@ -0,0 +1,53 @@
+package cardsim.benchmarks;
+
+import cardsim.games.spades.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+
+// Whole games of Spades between RandomSpadesPlayers; one operation is one game.
+// Tables of more than four players are dealt from one deck per four players.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SpadesGameBenchmark {
+
+    @Param({"4", "8", "12", "16"})
+    public int players;
+
+    private SpadesGame game;
+    private long[] points;
+    private long seed;
+
+    @Setup
+    public void setup() {
+        SpadesPlayerImpls[] lineup = new SpadesPlayerImpls[players];
+        Arrays.fill(lineup, SpadesPlayerImpls.Random);
+        game = new SpadesGame(lineup);
+        points = new long[game.playerCount()];
+        seed = 0;
+    }
+
+    @TearDown
+    public void tearDown() {
+        game.close();
+    }
+
+    // The path taken by BatchRunner, which writes the points into an array.
+    @Benchmark
+    public long[] game() throws SpadesRuleViolationException {
+        game.game(seed++, points);
+        return points;
+    }
+
+    // The path which returns the points as a map.
+    @Benchmark
+    public Map<Long, Long> gameWithMap() throws SpadesRuleViolationException {
+        return game.game(seed++);
+    }
+
+}
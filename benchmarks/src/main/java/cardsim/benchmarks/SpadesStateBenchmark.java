@@ -0,0 +1,81 @@
+package cardsim.benchmarks;
+
+import cardsim.basics.*;
+import cardsim.games.spades.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+
+// Playing a whole four-player deal through a SpadesState and taking it back again,
+// the step a search makes millions of times.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SpadesStateBenchmark {
+
+    private static final int DEALS = 256;
+
+    // Random deals, each held as the cards to play in order
+    private SpadesState state;
+    private SpadesState copy;
+    private long[][] hands;
+    private int[][] plays;
+    private int next;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(1);
+        Deck deck = new Deck();
+        state = new SpadesState(new int[] { 0, 1, 2, 3 }, 13);
+        copy = state.copy();
+        hands = new long[DEALS][4];
+        plays = new int[DEALS][52];
+        for (int i = 0; i < DEALS; i++) {
+            deck.reset();
+            deck.shuffle(random);
+            for (int id = 0; id < 4; id++)
+                hands[i][id] = CardMask.of(deck.draw(13));
+            load(i);
+            for (int m = 0; m < 52; m++) {
+                long legal = state.legalMoves();
+                plays[i][m] = CardMask.nth(legal, random.nextInt(CardMask.count(legal))).ordinal();
+                state.makeMove(plays[i][m]);
+            }
+        }
+        next = 0;
+    }
+
+    private void load(int deal) {
+        state.startTrick(0, 0);
+        for (int id = 0; id < 4; id++) {
+            state.setHand(id, hands[deal][id]);
+            state.setTaken(id, 0);
+        }
+    }
+
+    // Makes and then takes back every move of a deal.
+    @Benchmark
+    public int makeUnmake() {
+        int deal = next;
+        next = (next + 1) & (DEALS - 1);
+        load(deal);
+        for (int m = 0; m < 52; m++)
+            state.makeMove(plays[deal][m]);
+        int taken = state.taken(0);
+        for (int m = 0; m < 52; m++)
+            state.unmakeMove();
+        return taken;
+    }
+
+    // Copies a state, as a search without unmakeMove would at every step.
+    @Benchmark
+    public SpadesState copyFrom() {
+        copy.copyFrom(state);
+        return copy;
+    }
+
+}
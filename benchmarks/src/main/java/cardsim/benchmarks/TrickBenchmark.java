@@ -0,0 +1,45 @@
+package cardsim.benchmarks;
+
+import cardsim.basics.*;
+import cardsim.games.spades.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+
+// Deciding the winner of a four-card trick of Spades.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TrickBenchmark {
+
+    private static final int TRICKS = 1024;
+
+    // Random tricks, each of four distinct cards
+    private Card[][] tricks;
+    private int next;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(1);
+        Deck deck = new Deck();
+        tricks = new Card[TRICKS][];
+        for (int i = 0; i < TRICKS; i++) {
+            deck.reset();
+            deck.shuffle(random);
+            tricks[i] = deck.draw(4).toArray(new Card[0]);
+        }
+        next = 0;
+    }
+
+    @Benchmark
+    public int winner() {
+        Card[] trick = tricks[next];
+        next = (next + 1) & (TRICKS - 1);
+        return SpadesTrick.winner(trick, trick.length);
+    }
+
+}
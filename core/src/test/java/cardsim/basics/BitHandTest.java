@@ -0,0 +1,132 @@
+package cardsim.basics;
+
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class BitHandTest {
+
+    private static final Card TWO_C = Card.of(Rank.TWO, Suit.CLUBS);
+    private static final Card ACE_C = Card.of(Rank.ACE, Suit.CLUBS);
+    private static final Card TEN_H = Card.of(Rank.TEN, Suit.HEARTS);
+    private static final Card TWO_S = Card.of(Rank.TWO, Suit.SPADES);
+    private static final Card KING_S = Card.of(Rank.KING, Suit.SPADES);
+    private static final Card LOW_ACE_D = Card.of(Rank.LOW_ACE, Suit.DIAMONDS);
+
+    private static BitHand hand(Card... cards) {
+        return new BitHand(Arrays.asList(cards));
+    }
+
+    @Test
+    public void holdsOneCopyOfEachCard() {
+        BitHand hand = hand(TWO_C, TEN_H);
+        hand.add(TWO_C);
+        assertEquals(2, hand.size());
+        assertEquals(CardMask.bit(TWO_C) | CardMask.bit(TEN_H), hand.mask());
+    }
+
+    @Test
+    public void presentsCardsBySuitThenRankUntilSorted() {
+        BitHand hand = hand(KING_S, TEN_H, TWO_S, ACE_C, TWO_C);
+        assertEquals(Arrays.asList(TWO_C, ACE_C, TEN_H, TWO_S, KING_S), hand.getCards());
+
+        hand.sortRankSuit();
+        assertEquals(Arrays.asList(TWO_C, TWO_S, TEN_H, KING_S, ACE_C), hand.getCards());
+
+        hand.sortSuitRank();
+        assertEquals(Arrays.asList(TWO_C, ACE_C, TEN_H, TWO_S, KING_S), hand.getCards());
+    }
+
+    @Test
+    public void lowAcesAreSortedIntoTheirSuit() {
+        // A low ace's bit lies above every other card's, but it is presented in its suit.
+        BitHand hand = hand(LOW_ACE_D, TEN_H, TWO_C);
+        assertEquals(Arrays.asList(TWO_C, LOW_ACE_D, TEN_H), hand.getCards());
+        assertTrue(hand.play(1));
+        assertEquals(Collections.singletonList(LOW_ACE_D), hand.getScheduledCards());
+    }
+
+    @Test
+    public void playByIndexFollowsThePresentationOrder() {
+        BitHand hand = hand(KING_S, TEN_H, TWO_S);
+        hand.sortRankSuit();
+        assertTrue(hand.play(0));
+        assertEquals(Collections.singletonList(TWO_S), hand.getScheduledCards());
+        assertFalse(hand.play(2));
+        assertFalse(hand.play(-1));
+    }
+
+    @Test
+    public void playUnplayAndAcceptKeepTheScheduledOrder() {
+        BitHand hand = hand(TWO_C, ACE_C, TEN_H, KING_S);
+        assertTrue(hand.play(KING_S));
+        assertTrue(hand.play(TWO_C));
+        assertTrue(hand.play(TEN_H));
+        assertFalse(hand.play(KING_S));
+        assertEquals(1, hand.size());
+        assertEquals(3, hand.scheduledSize());
+
+        assertTrue(hand.unplay(TWO_C));
+        assertFalse(hand.unplay(TWO_C));
+        assertEquals(Arrays.asList(KING_S, TEN_H), hand.getScheduledCards());
+        assertTrue(CardMask.contains(hand.mask(), TWO_C));
+
+        assertSame(KING_S, hand.accept());
+        assertSame(TEN_H, hand.accept());
+        assertThrows(IndexOutOfBoundsException.class, hand::accept);
+        assertEquals(2, hand.size());
+    }
+
+    @Test
+    public void acceptSeveralTakesTheOldestFirst() {
+        BitHand hand = hand(TWO_C, ACE_C, TEN_H, KING_S);
+        hand.play(ACE_C);
+        hand.play(KING_S);
+        hand.play(TWO_C);
+        assertThrows(IndexOutOfBoundsException.class, () -> hand.accept(4));
+        assertEquals(Arrays.asList(ACE_C, KING_S), hand.accept(2));
+        assertEquals(Collections.singletonList(TWO_C), hand.acceptAll());
+        assertEquals(0, hand.scheduledSize());
+        assertEquals(Collections.singletonList(TEN_H), hand.getCards());
+    }
+
+    @Test
+    public void returnUnusedPutsScheduledCardsBack() {
+        BitHand hand = hand(TWO_C, TEN_H, KING_S);
+        hand.play(TEN_H);
+        hand.play(KING_S);
+        hand.returnUnused();
+        assertEquals(0, hand.scheduledSize());
+        assertEquals(3, hand.size());
+    }
+
+    @Test
+    public void queriesCountBySuitAndRank() {
+        BitHand hand = hand(TWO_C, ACE_C, TWO_S, KING_S, TEN_H);
+        assertEquals(2, hand.countBySuit(Suit.SPADES));
+        assertEquals(0, hand.countBySuit(Suit.DIAMONDS));
+        assertEquals(2, hand.countByRank(Rank.TWO));
+        assertEquals(CardMask.bit(TWO_S) | CardMask.bit(KING_S), hand.suitMask(Suit.SPADES));
+        assertEquals(CardMask.bit(TWO_C) | CardMask.bit(TWO_S), hand.rankMask(Rank.TWO));
+        assertEquals(Arrays.asList(TWO_C, ACE_C), hand.filterBySuit(Suit.CLUBS));
+        assertEquals(Arrays.asList(TWO_C, TWO_S), hand.filterByRank(Rank.TWO));
+        assertEquals(Arrays.asList(ACE_C, KING_S), hand.filter(c -> c.rank.value > 12));
+    }
+
+    @Test
+    public void clearForgetsEverythingIncludingTheOrder() {
+        BitHand hand = hand(TWO_C, TEN_H, KING_S);
+        hand.sortRankSuit();
+        hand.play(TEN_H);
+        hand.clear();
+        assertEquals(0, hand.size());
+        assertEquals(0, hand.scheduledSize());
+
+        hand.add(TWO_S);
+        hand.add(ACE_C);
+        assertEquals(Arrays.asList(ACE_C, TWO_S), hand.getCards());
+    }
+
+}
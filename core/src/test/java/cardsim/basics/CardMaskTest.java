@@ -0,0 +1,81 @@
+package cardsim.basics;
+
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class CardMaskTest {
+
+    @Test
+    public void cardsAreLaidOutSuitBySuitWithLowAcesLast() {
+        assertEquals(1L, CardMask.bit(Card.of(Rank.TWO, Suit.CLUBS)));
+        assertEquals(1L << 12, CardMask.bit(Card.of(Rank.ACE, Suit.CLUBS)));
+        assertEquals(1L << 13, CardMask.bit(Card.of(Rank.TWO, Suit.DIAMONDS)));
+        assertEquals(1L << 51, CardMask.bit(Card.of(Rank.ACE, Suit.SPADES)));
+        assertEquals(1L << 52, CardMask.bit(Card.of(Rank.LOW_ACE, Suit.CLUBS)));
+        assertEquals(1L << 55, CardMask.bit(Card.of(Rank.LOW_ACE, Suit.SPADES)));
+        assertEquals(CardMask.SIZE, CardMask.count(CardMask.ALL));
+    }
+
+    @Test
+    public void suitAndRankMasksPartitionEveryCard() {
+        long suits = CardMask.EMPTY;
+        for (Suit s : Suit.values()) {
+            assertEquals(0, suits & CardMask.suit(s));
+            assertEquals(Rank.values().length, CardMask.count(CardMask.suit(s)));
+            suits |= CardMask.suit(s);
+        }
+        assertEquals(CardMask.ALL, suits);
+
+        long ranks = CardMask.EMPTY;
+        for (Rank r : Rank.values()) {
+            assertEquals(0, ranks & CardMask.rank(r));
+            assertEquals(Suit.values().length, CardMask.count(CardMask.rank(r)));
+            ranks |= CardMask.rank(r);
+        }
+        assertEquals(CardMask.ALL, ranks);
+        assertEquals(CardMask.LOW_ACES, CardMask.rank(Rank.LOW_ACE));
+    }
+
+    @Test
+    public void firstAndNthCountFromTheLowestBit() {
+        Card twoOfHearts = Card.of(Rank.TWO, Suit.HEARTS);
+        Card kingOfHearts = Card.of(Rank.KING, Suit.HEARTS);
+        Card aceOfSpades = Card.of(Rank.ACE, Suit.SPADES);
+        long mask = CardMask.bit(aceOfSpades) | CardMask.bit(kingOfHearts) | CardMask.bit(twoOfHearts);
+
+        assertSame(twoOfHearts, CardMask.first(mask));
+        assertSame(twoOfHearts, CardMask.nth(mask, 0));
+        assertSame(kingOfHearts, CardMask.nth(mask, 1));
+        assertSame(aceOfSpades, CardMask.nth(mask, 2));
+        assertNull(CardMask.nth(mask, 3));
+        assertNull(CardMask.nth(mask, -1));
+        assertNull(CardMask.first(CardMask.EMPTY));
+    }
+
+    @Test
+    public void ofAndToListRoundTrip() {
+        List<Card> cards = Arrays.asList(
+            Card.of(Rank.QUEEN, Suit.SPADES),
+            Card.of(Rank.THREE, Suit.CLUBS),
+            Card.of(Rank.LOW_ACE, Suit.DIAMONDS),
+            Card.of(Rank.TEN, Suit.HEARTS)
+        );
+        long mask = CardMask.of(cards);
+        assertEquals(4, CardMask.count(mask));
+        for (Card c : cards)
+            assertTrue(CardMask.contains(mask, c));
+
+        // toList is in bit order, so the low ace comes last.
+        assertEquals(Arrays.asList(
+            Card.of(Rank.THREE, Suit.CLUBS),
+            Card.of(Rank.TEN, Suit.HEARTS),
+            Card.of(Rank.QUEEN, Suit.SPADES),
+            Card.of(Rank.LOW_ACE, Suit.DIAMONDS)
+        ), CardMask.toList(mask));
+        assertTrue(CardMask.toList(CardMask.EMPTY).isEmpty());
+    }
+
+}
@@ -0,0 +1,64 @@
+package cardsim.basics;
+
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class CardTest {
+
+    @Test
+    public void everyRankAndSuitIsInterned() {
+        for (Suit s : Suit.values())
+        for (Rank r : Rank.values()) {
+            Card c = Card.of(r, s);
+            assertSame(c, Card.of(r, s));
+            assertSame(r, c.rank);
+            assertSame(s, c.suit);
+            assertSame(c, Card.of(c.ordinal()));
+        }
+    }
+
+    @Test
+    public void ordinalsAreDenseAndDistinct() {
+        boolean[] seen = new boolean[Card.COUNT];
+        for (Suit s : Suit.values())
+        for (Rank r : Rank.values()) {
+            int ordinal = Card.of(r, s).ordinal();
+            assertTrue(ordinal >= 0 && ordinal < Card.COUNT);
+            assertFalse(seen[ordinal], "Ordinal " + ordinal + " is used twice.");
+            seen[ordinal] = true;
+        }
+        assertEquals(Card.COUNT, Suit.values().length * Rank.values().length);
+    }
+
+    @Test
+    public void ordinalsAscendByRankWithinASuit() {
+        for (Suit s : Suit.values()) {
+            int previous = -1;
+            for (Rank r : Rank.allRanks) {
+                int ordinal = Card.of(r, s).ordinal();
+                assertTrue(ordinal > previous);
+                previous = ordinal;
+            }
+        }
+        assertEquals(0, Card.of(Rank.TWO, Suit.CLUBS).ordinal());
+        assertEquals(51, Card.of(Rank.ACE, Suit.SPADES).ordinal());
+    }
+
+    @Test
+    public void equalityIsIdentityAndTheHashIsTheOrdinal() {
+        Card c = Card.of(Rank.QUEEN, Suit.HEARTS);
+        assertEquals(c, Card.of(Rank.QUEEN, Suit.HEARTS));
+        assertNotEquals(c, Card.of(Rank.QUEEN, Suit.DIAMONDS));
+        assertEquals(c.ordinal(), c.hashCode());
+
+        Set<Card> cards = new HashSet<>();
+        for (int ordinal = 0; ordinal < Card.COUNT; ordinal++)
+            cards.add(Card.of(ordinal));
+        assertEquals(Card.COUNT, cards.size());
+        assertTrue(cards.contains(c));
+    }
+
+}
@@ -0,0 +1,117 @@
+package cardsim.basics;
+
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class DeckTest {
+
+    @Test
+    public void resetRestoresTheCanonicalOrder() {
+        Deck deck = new Deck();
+        List<Card> canonical = new ArrayList<>(deck.getCards());
+        assertEquals(52, canonical.size());
+        assertEquals(52, new HashSet<>(canonical).size());
+
+        deck.shuffle(new SplittableRandom(1));
+        deck.draw(7);
+        deck.reset();
+        assertEquals(canonical, deck.getCards());
+    }
+
+    @Test
+    public void drawingPastTheEndStopsAtTheLastCard() {
+        Deck deck = new Deck();
+        List<Card> canonical = new ArrayList<>(deck.getCards());
+        assertEquals(canonical.subList(0, 50), deck.draw(50));
+        assertEquals(canonical.subList(50, 52), deck.draw(5));
+        assertTrue(deck.isEmpty());
+        assertNull(deck.draw());
+        assertTrue(deck.draw(3).isEmpty());
+    }
+
+    @Test
+    public void discardingOntoAnEmptyDeckWrapsToTheEndOfTheBuffer() {
+        Deck deck = new Deck();
+        List<Card> drawn = deck.draw(52);
+        deck.discard(drawn.get(0));
+        deck.discard(drawn.get(1));
+        deck.discard(drawn.get(2));
+        assertEquals(Arrays.asList(drawn.get(2), drawn.get(1), drawn.get(0)), deck.getCards());
+        assertSame(drawn.get(2), deck.draw());
+        assertSame(drawn.get(1), deck.draw());
+        assertSame(drawn.get(0), deck.draw());
+        assertTrue(deck.isEmpty());
+    }
+
+    @Test
+    public void cardsPlacedOnTheBottomWrapAndAreDrawnLast() {
+        Deck deck = new Deck();
+        List<Card> canonical = new ArrayList<>(deck.getCards());
+        List<Card> drawn = deck.draw(10);
+        for (Card c : drawn)
+            deck.placeOnBottom(c);
+
+        List<Card> expected = new ArrayList<>(canonical.subList(10, 52));
+        expected.addAll(drawn);
+        assertEquals(expected, deck.getCards());
+
+        // The deck is full, so one more card grows the buffer, which must keep the order.
+        deck.placeOnBottom(canonical.get(0));
+        expected.add(canonical.get(0));
+        assertEquals(expected, deck.getCards());
+        assertEquals(expected, deck.draw(53));
+    }
+
+    @Test
+    public void dealingAcrossTheWrapKeepsTheOrder() {
+        Deck deck = new Deck();
+        List<Card> drawn = deck.draw(10);
+        for (Card c : drawn)
+            deck.placeOnBottom(c);
+        List<Card> expected = new ArrayList<>(deck.getCards());
+
+        Hand hand = new OpenHand(new ArrayList<>());
+        assertEquals(47, deck.deal(47, hand));
+        assertEquals(expected.subList(0, 47), hand.getCards());
+        assertEquals(expected.subList(47, 52), deck.getCards());
+
+        assertEquals(5, deck.deal(8, hand));
+        assertEquals(expected, hand.getCards());
+        assertTrue(deck.isEmpty());
+    }
+
+    @Test
+    public void shufflingAWrappedDeckKeepsItsCards() {
+        Deck first = new Deck();
+        Deck second = new Deck();
+        for (Deck deck : Arrays.asList(first, second)) {
+            List<Card> drawn = deck.draw(20);
+            for (Card c : drawn)
+                deck.placeOnBottom(c);
+        }
+        first.shuffle(new SplittableRandom(42));
+        second.shuffle(new SplittableRandom(42));
+
+        // The same seed gives the same order...
+        assertEquals(first.getCards(), second.getCards());
+        // ... of the same cards.
+        assertEquals(new HashSet<>(new Deck().getCards()), new HashSet<>(first.getCards()));
+        assertEquals(52, first.size());
+    }
+
+    @Test
+    public void severalDecksHoldEveryCardOncePerDeck() {
+        Deck deck = new Deck(3);
+        assertEquals(3 * 52, deck.size());
+        Map<Card, Integer> copies = new HashMap<>();
+        for (Card c : deck.getCards())
+            copies.merge(c, 1, Integer::sum);
+        assertEquals(52, copies.size());
+        for (int count : copies.values())
+            assertEquals(3, count);
+    }
+
+}
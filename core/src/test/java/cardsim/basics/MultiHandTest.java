@@ -0,0 +1,137 @@
+package cardsim.basics;
+
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class MultiHandTest {
+
+    private static final Card TWO_C = Card.of(Rank.TWO, Suit.CLUBS);
+    private static final Card ACE_C = Card.of(Rank.ACE, Suit.CLUBS);
+    private static final Card TEN_H = Card.of(Rank.TEN, Suit.HEARTS);
+    private static final Card TWO_S = Card.of(Rank.TWO, Suit.SPADES);
+    private static final Card KING_S = Card.of(Rank.KING, Suit.SPADES);
+    private static final Card LOW_ACE_D = Card.of(Rank.LOW_ACE, Suit.DIAMONDS);
+
+    private static MultiHand hand(Card... cards) {
+        return new MultiHand(Arrays.asList(cards));
+    }
+
+    @Test
+    public void countsEveryCopy() {
+        MultiHand hand = hand(TWO_C, TEN_H, TWO_C);
+        hand.add(TWO_C);
+        assertEquals(4, hand.size());
+        assertEquals(3, hand.count(TWO_C));
+        assertEquals(0, hand.count(KING_S));
+        assertEquals(CardMask.bit(TWO_C) | CardMask.bit(TEN_H), hand.mask());
+        assertEquals(Arrays.asList(TWO_C, TWO_C, TWO_C, TEN_H), hand.getCards());
+    }
+
+    @Test
+    public void playingOneCopyKeepsTheCardUntilTheLastGoes() {
+        MultiHand hand = hand(KING_S, KING_S, TEN_H);
+        assertTrue(hand.play(KING_S));
+        assertTrue(CardMask.contains(hand.mask(), KING_S));
+        assertTrue(hand.play(KING_S));
+        assertFalse(CardMask.contains(hand.mask(), KING_S));
+        assertFalse(hand.play(KING_S));
+        assertEquals(Arrays.asList(KING_S, KING_S), hand.getScheduledCards());
+        assertEquals(0, hand.countBySuit(Suit.SPADES));
+
+        assertTrue(hand.unplay(KING_S));
+        assertEquals(1, hand.count(KING_S));
+        assertEquals(Collections.singletonList(KING_S), hand.getScheduledCards());
+    }
+
+    @Test
+    public void playByIndexCountsCopies() {
+        MultiHand hand = hand(TWO_C, TWO_C, TEN_H, KING_S);
+        assertTrue(hand.play(2));
+        assertEquals(Collections.singletonList(TEN_H), hand.getScheduledCards());
+        assertTrue(hand.play(1));
+        assertEquals(Arrays.asList(TEN_H, TWO_C), hand.getScheduledCards());
+        assertFalse(hand.play(2));
+
+        hand.sortRankSuit();
+        assertTrue(hand.play(1));
+        assertEquals(KING_S, hand.getScheduledCards().get(2));
+    }
+
+    @Test
+    public void lowAcesAreSortedIntoTheirSuit() {
+        MultiHand hand = hand(LOW_ACE_D, TEN_H, LOW_ACE_D, TWO_C);
+        assertEquals(Arrays.asList(TWO_C, LOW_ACE_D, LOW_ACE_D, TEN_H), hand.getCards());
+        assertTrue(hand.play(2));
+        assertEquals(Collections.singletonList(LOW_ACE_D), hand.getScheduledCards());
+    }
+
+    @Test
+    public void schedulingGrowsPastItsFirstCapacity() {
+        List<Card> cards = new ArrayList<>();
+        for (int i = 0; i < 40; i++)
+            cards.add(TEN_H);
+        MultiHand hand = new MultiHand(cards);
+        for (int i = 0; i < 40; i++)
+            assertTrue(hand.play(TEN_H));
+        assertEquals(40, hand.scheduledSize());
+        assertEquals(0, hand.size());
+        assertEquals(cards, hand.accept(40));
+    }
+
+    @Test
+    public void acceptAndReturnUnusedKeepTheScheduledOrder() {
+        MultiHand hand = hand(TWO_C, ACE_C, ACE_C, KING_S);
+        hand.play(ACE_C);
+        hand.play(KING_S);
+        hand.play(ACE_C);
+        assertThrows(IndexOutOfBoundsException.class, () -> hand.accept(4));
+        assertSame(ACE_C, hand.accept());
+        assertEquals(Arrays.asList(KING_S, ACE_C), hand.getScheduledCards());
+
+        hand.returnUnused();
+        assertEquals(0, hand.scheduledSize());
+        assertEquals(Arrays.asList(TWO_C, ACE_C, KING_S), hand.getCards());
+        assertThrows(IndexOutOfBoundsException.class, hand::accept);
+    }
+
+    @Test
+    public void queriesCountEveryCopy() {
+        MultiHand hand = hand(TWO_C, TWO_C, TWO_S, KING_S, TEN_H);
+        assertEquals(2, hand.countBySuit(Suit.SPADES));
+        assertEquals(2, hand.countBySuit(Suit.CLUBS));
+        assertEquals(3, hand.countByRank(Rank.TWO));
+        assertEquals(CardMask.bit(TWO_C) | CardMask.bit(TWO_S), hand.rankMask(Rank.TWO));
+        assertEquals(Arrays.asList(TWO_C, TWO_C), hand.filterBySuit(Suit.CLUBS));
+        assertEquals(Arrays.asList(TWO_C, TWO_C, TWO_S), hand.filterByRank(Rank.TWO));
+        assertEquals(Collections.singletonList(KING_S), hand.filter(c -> c.rank.value > 12));
+    }
+
+    @Test
+    public void aHandHoldsAtMostAByteOfCopies() {
+        MultiHand hand = new MultiHand();
+        for (int i = 0; i < Byte.MAX_VALUE; i++)
+            hand.add(TWO_S);
+        assertThrows(IllegalStateException.class, () -> hand.add(TWO_S));
+        assertEquals(Byte.MAX_VALUE, hand.size());
+    }
+
+    @Test
+    public void clearForgetsEverythingIncludingTheOrder() {
+        MultiHand hand = hand(TWO_C, TWO_C, KING_S);
+        hand.sortRankSuit();
+        hand.play(TWO_C);
+        hand.clear();
+        assertEquals(0, hand.size());
+        assertEquals(0, hand.scheduledSize());
+        assertEquals(0, hand.count(TWO_C));
+        assertEquals(0, hand.countBySuit(Suit.CLUBS));
+
+        hand.add(TWO_S);
+        hand.add(ACE_C);
+        assertEquals(Arrays.asList(ACE_C, TWO_S), hand.getCards());
+    }
+
+}
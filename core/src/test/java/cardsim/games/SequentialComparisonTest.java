@@ -0,0 +1,138 @@
+package cardsim.games;
+
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class SequentialComparisonTest {
+
+    // Seats "A" as player 0 and "B" as player 1. Each scores a uniform
+    // draw from [0, 100) per game, and A scores `edge` more on top.
+    private static final class NoisyGame implements SimulatableGame<String> {
+
+        final double edge;
+
+        NoisyGame(double edge) {
+            this.edge = edge;
+        }
+
+        @Override
+        public int playerCount() {
+            return 2;
+        }
+
+        @Override
+        public String implementation(long playerID) {
+            return (playerID == 0) ? "A" : "B";
+        }
+
+        @Override
+        public Map<Long, Long> game(long seed) {
+            SplittableRandom random = new SplittableRandom(seed);
+            Map<Long, Long> points = new HashMap<>();
+            points.put(0L, (long)(random.nextDouble() * 100 + edge));
+            points.put(1L, (long)(random.nextDouble() * 100));
+            return points;
+        }
+
+    }
+
+    @Test
+    public void aClearDifferenceStopsEarly() {
+        SequentialComparison comparison = new SequentialComparison(0.95, 0.01, 100, 100_000, 2, 32);
+        SequentialComparison.Result<String> result = comparison.compare(() -> new NoisyGame(20), "A", "B", 1);
+
+        assertTrue(result.separated());
+        assertEquals("A", result.better());
+        assertTrue(result.games() < 2_000, "took " + result.games() + " games");
+        assertTrue(result.likelihoodRatio() >= 1 / (1 - 0.95));
+    }
+
+    @Test
+    public void theBetterSideMayBeEitherImplementation() {
+        SequentialComparison comparison = new SequentialComparison(0.95, 0.01, 100, 100_000, 1, 32);
+        SequentialComparison.Result<String> result = comparison.compare(() -> new NoisyGame(20), "B", "A", 1);
+
+        assertTrue(result.separated());
+        assertEquals("A", result.better());
+        assertTrue(result.differences().mean() < 0);
+    }
+
+    @Test
+    public void noDifferenceRunsToTheMaximum() {
+        SequentialComparison comparison = new SequentialComparison(0.95, 0.01, 500, 5_000, 2, 64);
+        SequentialComparison.Result<String> result = comparison.compare(() -> new NoisyGame(0), "A", "B", 3);
+
+        assertFalse(result.separated());
+        assertNull(result.better());
+        assertEquals(5_000, result.games());
+        assertEquals(10, result.batches());
+    }
+
+    @Test
+    public void identicalScoresNeverSeparate() {
+        SequentialComparison comparison = new SequentialComparison(0.95, 0.01, 10, 50, 1, 4);
+        SimulatableGame<String> tie = new SimulatableGame<String>() {
+            public int playerCount() { return 2; }
+            public String implementation(long playerID) { return (playerID == 0) ? "A" : "B"; }
+            public Map<Long, Long> game(long seed) {
+                Map<Long, Long> points = new HashMap<>();
+                points.put(0L, 7L);
+                points.put(1L, 7L);
+                return points;
+            }
+        };
+        SequentialComparison.Result<String> result = comparison.compare(() -> tie, "A", "B", 5);
+
+        assertFalse(result.separated());
+        assertEquals(1.0, result.likelihoodRatio());
+        assertEquals(50, result.games());
+    }
+
+    @Test
+    public void theLikelihoodRatioFollowsTheNormalMixture() {
+        double mixture = 0.05;
+        SequentialComparison comparison = new SequentialComparison(0.999999, mixture, 200, 200, 1, 50);
+        SequentialComparison.Result<String> result = comparison.compare(() -> new NoisyGame(3), "A", "B", 7);
+
+        RunningStatistics d = result.differences();
+        long n = d.count();
+        double sum = d.mean() * n;
+        double spread = 1 + n * mixture;
+        double expected = Math.sqrt(1 / spread) * Math.exp(mixture * sum * sum / (2 * d.variance() * spread));
+        assertEquals(200, n);
+        assertEquals(expected, result.likelihoodRatio(), expected * 1e-9);
+    }
+
+    @Test
+    public void theOutcomeDoesNotDependOnTheNumberOfThreads() {
+        SequentialComparison.Result<String> one =
+            new SequentialComparison(0.95, 0.01, 250, 20_000, 1, 16).compare(() -> new NoisyGame(4), "A", "B", 11);
+        SequentialComparison.Result<String> four =
+            new SequentialComparison(0.95, 0.01, 250, 20_000, 4, 16).compare(() -> new NoisyGame(4), "A", "B", 11);
+
+        assertEquals(one.games(), four.games());
+        assertEquals(one.batches(), four.batches());
+        assertEquals(one.differences().mean(), four.differences().mean());
+        assertEquals(one.likelihoodRatio(), four.likelihoodRatio());
+        assertEquals(one.separated(), four.separated());
+    }
+
+    @Test
+    public void aGameWithoutBothImplementationsIsRejected() {
+        SequentialComparison comparison = new SequentialComparison(0.95, 100, 1_000);
+        assertThrows(IllegalArgumentException.class, () -> comparison.compare(() -> new NoisyGame(0), "A", "C", 1));
+        assertThrows(IllegalArgumentException.class, () -> comparison.compare(() -> new NoisyGame(0), "A", "A", 1));
+    }
+
+    @Test
+    public void settingsAreValidated() {
+        assertThrows(IllegalArgumentException.class, () -> new SequentialComparison(1.0, 0.01, 10, 100, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new SequentialComparison(0.95, 0, 10, 100, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new SequentialComparison(0.95, 0.01, 100, 10, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new SequentialComparison(0.95, 0.01, 10, 100, 0, 1));
+    }
+
+}
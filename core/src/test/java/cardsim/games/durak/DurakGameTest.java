@@ -0,0 +1,70 @@
+package cardsim.games.durak;
+
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class DurakGameTest {
+
+    private static DurakGame game(int players) {
+        DurakPlayerImpls[] lineup = new DurakPlayerImpls[players];
+        Arrays.fill(lineup, DurakPlayerImpls.Random);
+        return new DurakGame(lineup);
+    }
+
+    @Test
+    public void everyoneButTheDurakScoresAPoint() throws Exception {
+        for (int n = 2; n <= DurakRules.MAX_PLAYERS; n++) {
+            DurakGame game = game(n);
+            long[] points = new long[n];
+            for (long seed = 0; seed < 500; seed++) {
+                game.game(seed, points);
+                int loser = game.loser();
+                for (int id = 0; id < n; id++)
+                    assertEquals((id == loser) ? 0 : 1, points[id]);
+            }
+            game.close();
+        }
+    }
+
+    @Test
+    public void everySeatCanLose() throws Exception {
+        DurakGame game = game(4);
+        long[] losses = new long[4];
+        for (long seed = 0; seed < 2_000; seed++) {
+            game.game(seed);
+            if (game.loser() >= 0)
+                losses[game.loser()]++;
+        }
+        game.close();
+        for (long l : losses)
+            assertTrue(l > 300, Arrays.toString(losses));
+    }
+
+    @Test
+    public void reusedPlayersReplayASeedExactly() throws Exception {
+        DurakGame fresh = game(3);
+        DurakGame reused = game(3);
+        for (long seed = 100; seed < 200; seed++)
+            reused.game(seed);
+        for (long seed = 0; seed < 50; seed++) {
+            assertEquals(fresh.game(seed), reused.game(seed));
+            assertEquals(fresh.loser(), reused.loser());
+        }
+
+        // Closing the players only means building them anew.
+        reused.close();
+        assertEquals(fresh.game(7), reused.game(7));
+        fresh.close();
+        reused.close();
+    }
+
+    @Test
+    public void tablesOutsideTwoToSixAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> game(1));
+        assertThrows(IllegalArgumentException.class, () -> game(DurakRules.MAX_PLAYERS + 1));
+    }
+
+}
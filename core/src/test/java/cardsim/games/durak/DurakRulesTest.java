@@ -0,0 +1,86 @@
+package cardsim.games.durak;
+
+import cardsim.basics.*;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class DurakRulesTest {
+
+    private static Card card(Rank rank, Suit suit) {
+        return Card.of(rank, suit);
+    }
+
+    @Test
+    public void aHigherCardOfTheSameSuitBeats() {
+        Card attack = card(Rank.TEN, Suit.HEARTS);
+        assertTrue(DurakRules.beats(card(Rank.JACK, Suit.HEARTS), attack, Suit.CLUBS));
+        assertTrue(DurakRules.beats(card(Rank.ACE, Suit.HEARTS), attack, Suit.CLUBS));
+        assertFalse(DurakRules.beats(card(Rank.TEN, Suit.HEARTS), attack, Suit.CLUBS));
+        assertFalse(DurakRules.beats(card(Rank.NINE, Suit.HEARTS), attack, Suit.CLUBS));
+        assertFalse(DurakRules.beats(card(Rank.ACE, Suit.DIAMONDS), attack, Suit.CLUBS));
+    }
+
+    @Test
+    public void anyTrumpBeatsAPlainCard() {
+        Card attack = card(Rank.ACE, Suit.HEARTS);
+        assertTrue(DurakRules.beats(card(Rank.SIX, Suit.SPADES), attack, Suit.SPADES));
+        assertFalse(DurakRules.beats(card(Rank.SIX, Suit.SPADES), attack, Suit.CLUBS));
+    }
+
+    @Test
+    public void onlyAHigherTrumpBeatsATrump() {
+        Card attack = card(Rank.QUEEN, Suit.SPADES);
+        assertTrue(DurakRules.beats(card(Rank.KING, Suit.SPADES), attack, Suit.SPADES));
+        assertFalse(DurakRules.beats(card(Rank.JACK, Suit.SPADES), attack, Suit.SPADES));
+        assertFalse(DurakRules.beats(card(Rank.ACE, Suit.HEARTS), attack, Suit.SPADES));
+    }
+
+    @Test
+    public void beatersListExactlyTheCardsWhichBeat() {
+        Card attack = card(Rank.QUEEN, Suit.DIAMONDS);
+        List<Card> expected = Arrays.asList(
+            card(Rank.KING, Suit.DIAMONDS), card(Rank.ACE, Suit.DIAMONDS)
+        );
+        assertEquals(CardMask.of(expected), DurakRules.beaters(attack, Suit.DIAMONDS));
+
+        long beaters = DurakRules.beaters(attack, Suit.CLUBS);
+        assertEquals(2 + 13, CardMask.count(beaters));
+        assertEquals(0, beaters & CardMask.LOW_ACES);
+        for (Card c : CardMask.toList(beaters))
+            assertTrue(c.suit == Suit.CLUBS || c.suit == Suit.DIAMONDS, c.toString());
+    }
+
+    @Test
+    public void nothingBeatsTheAceOfTrumps() {
+        assertEquals(CardMask.EMPTY, DurakRules.beaters(card(Rank.ACE, Suit.HEARTS), Suit.HEARTS));
+    }
+
+    @Test
+    public void theBoutTracksItsRanksAndDefences() {
+        DurakBout bout = new DurakBout();
+        bout.start(Suit.HEARTS, 0, 1, 2);
+        bout.attack(card(Rank.SEVEN, Suit.CLUBS));
+        assertEquals(CardMask.rank(Rank.SEVEN), bout.ranks());
+        assertNull(bout.defence(0));
+
+        bout.defend(card(Rank.NINE, Suit.CLUBS));
+        bout.attack(card(Rank.NINE, Suit.SPADES));
+        assertEquals(CardMask.rank(Rank.SEVEN) | CardMask.rank(Rank.NINE), bout.ranks());
+        assertEquals(2, bout.size());
+        assertEquals(1, bout.defended());
+        assertEquals(card(Rank.NINE, Suit.CLUBS), bout.defence(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> bout.attack(2));
+
+        Hand hand = new BitHand();
+        bout.takeInto(hand);
+        assertEquals(3, hand.size());
+
+        bout.start(Suit.HEARTS, 1, 0, 6);
+        assertEquals(0, bout.size());
+        assertEquals(CardMask.EMPTY, bout.ranks());
+    }
+
+}
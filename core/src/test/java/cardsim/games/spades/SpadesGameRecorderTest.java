@@ -0,0 +1,60 @@
+package cardsim.games.spades;
+
+import java.nio.file.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class SpadesGameRecorderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void aBufferSmallerThanAnyRecordIsRefused() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new SpadesGameRecorder(directory, "small", 1 << 20, SpadesGameRecorder.recordSize(1, 0) - 1));
+    }
+
+    @Test
+    public void aGameWhoseRecordCannotFitTheBufferIsRefused() throws Exception {
+        SpadesGameRecorder recorder = new SpadesGameRecorder(directory, "tight", 1 << 20, SpadesGameRecorder.recordSize(4, 13));
+        assertThrows(IllegalArgumentException.class, () -> recorder.gameStarted(1, new int[] { 0, 1, 2, 3, 4 }, 13));
+        recorder.gameStarted(1, new int[] { 0, 1, 2, 3 }, 13);
+        recorder.close();
+    }
+
+    @Test
+    public void countsAndBidsBeyondAByteAreRefused() throws Exception {
+        SpadesGameRecorder recorder = new SpadesGameRecorder(directory, "wide");
+        assertThrows(IllegalArgumentException.class, () -> recorder.gameStarted(1, new int[128], 1));
+        assertThrows(IllegalArgumentException.class, () -> recorder.gameStarted(1, new int[] { 0, 1 }, 128));
+        recorder.gameStarted(1, new int[] { 0, 1 }, 13);
+        assertThrows(IllegalArgumentException.class, () -> recorder.bidPlaced(null, 128));
+        assertThrows(IllegalArgumentException.class, () -> recorder.bidPlaced(null, -1));
+        recorder.close();
+    }
+
+    @Test
+    public void refusedGamesLeaveTheLogReadable() throws Exception {
+        SpadesGame game = new SpadesGame(3L,
+            SpadesPlayerImpls.Random, SpadesPlayerImpls.Random,
+            SpadesPlayerImpls.Random, SpadesPlayerImpls.Random
+        );
+        SpadesGameRecorder recorder = new SpadesGameRecorder(directory, "mixed");
+        game.addListener(recorder);
+        game.game();
+        recorder.gameStarted(1, new int[] { 0, 1, 2, 3 }, 13);
+        assertThrows(IllegalArgumentException.class, () -> recorder.bidPlaced(null, 200));
+        game.game();
+        recorder.close();
+        game.close();
+
+        SpadesGameLog log = SpadesGameLog.open(directory, "mixed");
+        assertEquals(2, log.games());
+        assertEquals(13, log.read(1).tricks);
+    }
+
+}
@@ -0,0 +1,163 @@
+package cardsim.games.spades;
+
+import cardsim.basics.*;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class SpadesMatchTest {
+
+    // Partnership 0 is players 0 and 2, partnership 1 is players 1 and 3.
+    private static SpadesMatch match() {
+        return new SpadesMatch(
+            SpadesPlayerImpls.Random, SpadesPlayerImpls.Random,
+            SpadesPlayerImpls.Random, SpadesPlayerImpls.Random
+        );
+    }
+
+    // A finished hand with the given bids and tricks taken, by playerID.
+    private static SpadesState hand(int[] bids, int[] taken) {
+        SpadesState state = new SpadesState(new int[] { 0, 1, 2, 3 }, 13);
+        for (int id = 0; id < 4; id++) {
+            state.setBid(id, bids[id]);
+            state.setTaken(id, taken[id]);
+        }
+        return state;
+    }
+
+    private static final boolean[] NO_BLIND_NIL = new boolean[4];
+
+    @Test
+    public void contractsScoreTenATrickAndABagPerOvertrick() {
+        SpadesMatch match = match();
+        match.scoreHand(hand(new int[] { 2, 3, 2, 3 }, new int[] { 3, 2, 3, 5 }), NO_BLIND_NIL);
+        assertEquals(40 + 2, match.score(0));
+        assertEquals(2, match.bags(0));
+        assertEquals(60 + 1, match.score(1));
+        assertEquals(1, match.bags(1));
+    }
+
+    @Test
+    public void aFailedContractLosesTenATrick() {
+        SpadesMatch match = match();
+        match.scoreHand(hand(new int[] { 4, 3, 4, 2 }, new int[] { 3, 4, 4, 2 }), NO_BLIND_NIL);
+        assertEquals(-80, match.score(0));
+        assertEquals(0, match.bags(0));
+        assertEquals(50 + 1, match.score(1));
+    }
+
+    @Test
+    public void aNilStandsApartFromItsPartnersContract() {
+        SpadesMatch made = match();
+        made.scoreHand(hand(new int[] { 0, 3, 4, 3 }, new int[] { 0, 4, 5, 4 }), NO_BLIND_NIL);
+        assertEquals(100 + 40 + 1, made.score(0));
+
+        // The nil bidder's two tricks neither save the contract nor count as bags.
+        SpadesMatch lost = match();
+        lost.scoreHand(hand(new int[] { 0, 3, 4, 3 }, new int[] { 2, 4, 3, 4 }), NO_BLIND_NIL);
+        assertEquals(-100 - 40, lost.score(0));
+        assertEquals(0, lost.bags(0));
+    }
+
+    @Test
+    public void aNilPartnershipWithoutAContractScoresOnlyItsNils() {
+        SpadesMatch match = match();
+        match.scoreHand(hand(new int[] { 0, 6, 0, 6 }, new int[] { 0, 7, 1, 5 }), NO_BLIND_NIL);
+        assertEquals(100 - 100, match.score(0));
+        assertEquals(0, match.bags(0));
+    }
+
+    @Test
+    public void blindNilIsWorthTwoHundredEitherWay() {
+        boolean[] blind = { true, false, false, false };
+
+        SpadesMatch made = match();
+        made.scoreHand(hand(new int[] { 0, 3, 4, 3 }, new int[] { 0, 4, 5, 4 }), blind);
+        assertEquals(200 + 40 + 1, made.score(0));
+
+        SpadesMatch lost = match();
+        lost.scoreHand(hand(new int[] { 0, 3, 4, 3 }, new int[] { 1, 4, 4, 4 }), blind);
+        assertEquals(-200 + 40, lost.score(0));
+    }
+
+    @Test
+    public void everyTenthBagCostsAHundred() {
+        SpadesMatch match = match();
+        SpadesState hand = hand(new int[] { 1, 2, 2, 2 }, new int[] { 4, 2, 4, 3 });
+
+        match.scoreHand(hand, NO_BLIND_NIL);
+        assertEquals(30 + 5, match.score(0));
+        assertEquals(5, match.bags(0));
+
+        match.scoreHand(hand, NO_BLIND_NIL);
+        assertEquals(70 - 100, match.score(0));
+        assertEquals(0, match.bags(0));
+
+        match.scoreHand(hand(new int[] { 1, 2, 1, 2 }, new int[] { 5, 2, 4, 2 }), NO_BLIND_NIL);
+        assertEquals(-30 + 20 + 7, match.score(0));
+        assertEquals(7, match.bags(0));
+    }
+
+    @Test
+    public void aMatchIsReproducibleFromItsSeed() throws Exception {
+        SpadesMatch first = match();
+        SpadesMatch second = match();
+        assertEquals(first.game(42), second.game(42));
+        assertEquals(first.handsPlayed(), second.handsPlayed());
+        assertEquals(first.winner(), second.winner());
+        first.close();
+        second.close();
+    }
+
+    // The cards each player played in each hand, and the seed and order of play of each hand.
+    private static final class Deals implements SpadesGameListener {
+
+        final List<Long> seeds = new ArrayList<>();
+        final List<int[]> orders = new ArrayList<>();
+        final List<long[]> cards = new ArrayList<>();
+
+        @Override
+        public void gameStarted(long seed, int[] playerOrder, int tricks) {
+            seeds.add(seed);
+            orders.add(playerOrder.clone());
+            cards.add(new long[playerOrder.length]);
+        }
+
+        @Override
+        public void cardPlayed(SpadesPlayer player, Card card, int trick, int turn, boolean bestSoFar) {
+            cards.get(cards.size() - 1)[(int)player.playerID] |= CardMask.bit(card);
+        }
+
+    }
+
+    @Test
+    public void eachHandHasASeedWhichReproducesItsDeal() throws Exception {
+        SpadesMatch match = match();
+        Deals hands = new Deals();
+        match.getGame().addListener(hands);
+        match.game(7);
+        match.close();
+
+        assertEquals(match.handsPlayed(), hands.seeds.size());
+        assertEquals(hands.seeds.size(), new HashSet<>(hands.seeds).size());
+
+        // game(seed) deals the hands in the same order, to playerIDs 0 to 3.
+        SpadesGame game = new SpadesGame(
+            SpadesPlayerImpls.Random, SpadesPlayerImpls.Random,
+            SpadesPlayerImpls.Random, SpadesPlayerImpls.Random
+        );
+        Deals single = new Deals();
+        game.addListener(single);
+        for (int h = 0; h < hands.seeds.size(); h++) {
+            game.game(hands.seeds.get(h));
+            for (int turn = 0; turn < 4; turn++) {
+                int playerID = hands.orders.get(h)[turn];
+                assertEquals(single.cards.get(h)[turn], hands.cards.get(h)[playerID]);
+            }
+        }
+        game.close();
+    }
+
+}
@@ -0,0 +1,82 @@
+package cardsim.games.spades;
+
+import cardsim.basics.*;
+import java.nio.file.*;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class SpadesReplayTest {
+
+    @TempDir
+    Path directory;
+
+    // Records a few seeded games with Monte Carlo players in seats 0 and 2.
+    private SpadesGameLog record(int games) throws Exception {
+        SpadesGame game = new SpadesGame(7L,
+            SpadesPlayerImpls.MonteCarlo, SpadesPlayerImpls.Random,
+            SpadesPlayerImpls.MonteCarlo, SpadesPlayerImpls.Random
+        );
+        SpadesGameRecorder recorder = new SpadesGameRecorder(directory, "replay");
+        game.addListener(recorder);
+        for (int i = 0; i < games; i++)
+            game.game();
+        recorder.close();
+        game.close();
+        return SpadesGameLog.open(directory, "replay");
+    }
+
+    // Whether two cards of a player's hand are worth the same at a trick:
+    // they are of one suit and no other player holds a card between them.
+    private static boolean equivalent(SpadesGameRecord record, long playerID, int trick, Card a, Card b) {
+        if (a.suit != b.suit)
+            return false;
+        long others = CardMask.EMPTY;
+        for (int id = 0; id < record.players; id++) {
+            if (id != playerID)
+                others |= record.hand(id, trick);
+        }
+        int low = Math.min(a.ordinal(), b.ordinal());
+        int high = Math.max(a.ordinal(), b.ordinal());
+        long between = ((1L << high) - 1) & ~((1L << (low + 1)) - 1);
+        return (others & between) == 0;
+    }
+
+    @Test
+    public void aMonteCarloPlayerReplaysTheChoiceItMadeInTheGame() throws Exception {
+        SpadesGameLog log = record(10);
+        for (long i = 0; i < log.games(); i++) {
+            SpadesGameRecord record = log.read(i);
+
+            // With two cards left, a player which has followed every earlier
+            // trick knows enough to find the card it played. Between cards of
+            // equal worth the rollouts choose by chance, so either will do.
+            int trick = record.tricks - 2;
+            for (long playerID : new long[] { 0, 2 }) {
+                List<SpadesReplay.Decision> decisions =
+                    SpadesReplay.replay(record, SpadesPlayerImpls.MonteCarlo, playerID, t -> t == trick, 1);
+                assertEquals(1, decisions.size());
+                SpadesReplay.Decision decision = decisions.get(0);
+                assertNotNull(decision.chosen);
+                assertTrue(equivalent(record, playerID, trick, decision.chosen, decision.recorded),
+                    "Game " + i + ", player " + playerID + ": " + decision);
+            }
+        }
+    }
+
+    @Test
+    public void aPositionReplaysTheSameFromTheSameSeed() throws Exception {
+        SpadesGameRecord record = record(1).read(0);
+        List<SpadesReplay.Decision> first = SpadesReplay.replay(record, SpadesPlayerImpls.MonteCarlo, 0, t -> true, 3);
+        List<SpadesReplay.Decision> second = SpadesReplay.replay(record, SpadesPlayerImpls.MonteCarlo, 0, t -> true, 3);
+        assertEquals(record.tricks, first.size());
+        for (int t = 0; t < record.tricks; t++) {
+            assertEquals(t, first.get(t).trick);
+            assertSame(first.get(t).chosen, second.get(t).chosen);
+        }
+    }
+
+}
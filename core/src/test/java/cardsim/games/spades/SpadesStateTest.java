@@ -0,0 +1,156 @@
+package cardsim.games.spades;
+
+import cardsim.basics.*;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class SpadesStateTest {
+
+    private static final int[] ORDER = { 2, 0, 3, 1 };
+
+    // A four-player state dealt a shuffled deck, with a bid of 3 each.
+    private static SpadesState deal(long seed) {
+        List<Card> deck = new ArrayList<>();
+        for (int ordinal = 0; ordinal < 52; ordinal++)
+            deck.add(Card.of(ordinal));
+        Collections.shuffle(deck, new Random(seed));
+        SpadesState state = new SpadesState(ORDER, 13);
+        for (int id = 0; id < 4; id++) {
+            state.setHand(id, CardMask.of(deck.subList(13 * id, 13 * (id + 1))));
+            state.setBid(id, 3);
+        }
+        return state;
+    }
+
+    private static void assertSameState(SpadesState expected, SpadesState actual) {
+        for (int id = 0; id < expected.players; id++) {
+            assertEquals(expected.hand(id), actual.hand(id));
+            assertEquals(expected.bid(id), actual.bid(id));
+            assertEquals(expected.taken(id), actual.taken(id));
+        }
+        assertEquals(expected.trick(), actual.trick());
+        assertEquals(expected.leader(), actual.leader());
+        assertEquals(expected.turn(), actual.turn());
+        assertEquals(expected.led(), actual.led());
+        assertEquals(expected.winningSoFar(), actual.winningSoFar());
+        assertEquals(expected.winningCard(), actual.winningCard());
+        assertEquals(expected.toMove(), actual.toMove());
+        assertEquals(expected.depth(), actual.depth());
+        assertEquals(expected.legalMoves(), actual.legalMoves());
+    }
+
+    @Test
+    public void unmakingEveryMoveRestoresEachEarlierState() {
+        for (long seed = 0; seed < 50; seed++) {
+            SpadesState state = deal(seed);
+            SplittableRandom random = new SplittableRandom(seed);
+            List<SpadesState> before = new ArrayList<>();
+            while (!state.isOver()) {
+                before.add(state.copy());
+                long legal = state.legalMoves();
+                state.makeMove(CardMask.nth(legal, random.nextInt(CardMask.count(legal))));
+            }
+            assertEquals(52, state.depth());
+            for (int id = 0; id < 4; id++)
+                assertEquals(CardMask.EMPTY, state.hand(id));
+
+            for (int d = before.size() - 1; d >= 0; d--) {
+                state.unmakeMove();
+                assertSameState(before.get(d), state);
+            }
+        }
+    }
+
+    @Test
+    public void tricksGoToTheHighestCardOfTheSuitLedUnlessTrumped() {
+        SpadesState state = new SpadesState(ORDER, 2);
+        state.setHand(2, CardMask.of(Arrays.asList(Card.of(Rank.FOUR, Suit.HEARTS), Card.of(Rank.TWO, Suit.CLUBS))));
+        state.setHand(0, CardMask.of(Arrays.asList(Card.of(Rank.KING, Suit.HEARTS), Card.of(Rank.THREE, Suit.CLUBS))));
+        state.setHand(3, CardMask.of(Arrays.asList(Card.of(Rank.ACE, Suit.DIAMONDS), Card.of(Rank.TWO, Suit.SPADES))));
+        state.setHand(1, CardMask.of(Arrays.asList(Card.of(Rank.QUEEN, Suit.HEARTS), Card.of(Rank.ACE, Suit.CLUBS))));
+
+        state.makeMove(Card.of(Rank.FOUR, Suit.HEARTS));
+        assertEquals(Suit.HEARTS, state.led());
+        assertEquals(CardMask.of(Collections.singletonList(Card.of(Rank.KING, Suit.HEARTS))), state.legalMoves());
+        state.makeMove(Card.of(Rank.KING, Suit.HEARTS));
+        // Player 3 has no hearts, and may play anything.
+        assertEquals(state.hand(3), state.legalMoves());
+        state.makeMove(Card.of(Rank.ACE, Suit.DIAMONDS));
+        assertEquals(0, state.winningSoFar());
+        state.makeMove(Card.of(Rank.QUEEN, Suit.HEARTS));
+        assertEquals(1, state.trick());
+        assertEquals(1, state.taken(0));
+        assertEquals(0, state.leader());
+
+        state.makeMove(Card.of(Rank.THREE, Suit.CLUBS));
+        state.makeMove(Card.of(Rank.TWO, Suit.SPADES));
+        assertFalse(state.takesLead(Card.of(Rank.ACE, Suit.CLUBS).ordinal()));
+        state.makeMove(Card.of(Rank.ACE, Suit.CLUBS));
+        state.makeMove(Card.of(Rank.TWO, Suit.CLUBS));
+        assertTrue(state.isOver());
+        assertEquals(1, state.taken(3));
+        assertEquals(3, state.leader());
+    }
+
+    @Test
+    public void unmakingAFinishedTrickHandsItBack() {
+        SpadesState state = deal(7);
+        SpadesState start = state.copy();
+        for (int i = 0; i < 4; i++) {
+            long legal = state.legalMoves();
+            state.makeMove(CardMask.first(legal));
+        }
+        assertEquals(1, state.trick());
+        int winner = state.leader();
+        assertEquals(1, state.taken(winner));
+
+        state.unmakeMove();
+        assertEquals(0, state.trick());
+        assertEquals(0, state.taken(winner));
+        assertEquals(3, state.turn());
+        for (int i = 0; i < 3; i++)
+            state.unmakeMove();
+        assertSameState(start, state);
+        assertThrows(IllegalStateException.class, state::unmakeMove);
+    }
+
+    @Test
+    public void aCopyPlaysOnIndependently() {
+        SpadesState state = deal(3);
+        SpadesState copy = state.copy();
+        copy.makeMove(CardMask.first(copy.legalMoves()));
+        assertEquals(0, state.depth());
+        assertEquals(1, copy.depth());
+
+        state.copyFrom(copy);
+        assertSameState(copy, state);
+        state.unmakeMove();
+        assertSameState(deal(3), state);
+    }
+
+    @Test
+    public void startingATrickForgetsTheMovesMadeBefore() {
+        SpadesState state = deal(11);
+        state.makeMove(CardMask.first(state.legalMoves()));
+        state.setTaken(1, 4);
+        state.startTrick(5, 3);
+        assertEquals(5, state.trick());
+        assertEquals(3, state.leader());
+        assertEquals(3, state.toMove());
+        assertEquals(0, state.turn());
+        assertEquals(0, state.depth());
+        assertEquals(4, state.taken(1));
+    }
+
+    @Test
+    public void bidsScoreTenATrickLessTenForEachOvertrick() {
+        assertEquals(0, SpadesState.score(2, 3));
+        assertEquals(30, SpadesState.score(3, 3));
+        assertEquals(20, SpadesState.score(4, 3));
+        assertEquals(0, SpadesState.score(9, 3));
+    }
+
+}
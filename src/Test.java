@@ -1,12 +1,14 @@
 
 import cardsim.basics.*;
+import cardsim.games.*;
 import cardsim.games.spades.*;
 import java.util.*;
+import java.util.concurrent.*;
 
 
 public class Test {
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws SpadesRuleViolationException {
 
         SpadesGame spades = new SpadesGame(
             SpadesPlayerImpls.Random,
@@ -16,6 +18,28 @@ public class Test {
         );
 
         System.out.println(spades.game(true));
+        System.out.println();
+
+        // Play a larger batch across every core, one game instance per thread,
+        // each with its own statistics to merge at the end.
+        Queue<SpadesStatisticsListener> statistics = new ConcurrentLinkedQueue<>();
+        BatchResult<SpadesPlayerImpls> result = new BatchRunner().run(
+            () -> {
+                SpadesGame game = new SpadesGame(
+                    SpadesPlayerImpls.Random,
+                    SpadesPlayerImpls.Random,
+                    SpadesPlayerImpls.Random,
+                    SpadesPlayerImpls.Random
+                );
+                statistics.add(SpadesStatisticsListener.attachTo(game));
+                return game;
+            },
+            100000,
+            System.nanoTime()
+        );
+
+        System.out.println(result);
+        System.out.println(SpadesStatisticsListener.merged(statistics));
 
     }
 
@@ -0,0 +1,76 @@
+package cardsim.basics;
+
+import java.util.*;
+
+
+// A hand which stores its cards as a single 64-bit mask (see CardMask).
+//
+// Suit and rank queries are a mask-and-popcount rather than a scan, and
+// the mask functions allocate nothing. Since every card owns exactly one bit
+// a BitHand holds at most one copy of each card, which suits single-deck games.
+public final class BitHand extends MaskedHand {
+
+    private long cards;                // all cards the player has
+
+    public BitHand() {
+        // With one copy of each card, no more can ever be scheduled.
+        super(CardMask.SIZE);
+        this.cards = CardMask.EMPTY;
+    }
+
+    public BitHand(Collection<? extends Card> cards) {
+        this();
+        addAll(cards);
+    }
+
+    public void add(Card c) {
+        cards |= CardMask.bit(c);
+    }
+
+    public void addAll(Collection<? extends Card> newCards) {
+        cards |= CardMask.of(newCards);
+    }
+
+    public void addAll(Card[] newCards, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            cards |= CardMask.bit(newCards[i]);
+        }
+    }
+
+    public long mask() {
+        return cards;
+    }
+
+    public int countBySuit(Suit s) {
+        return Long.bitCount(suitMask(s));
+    }
+
+    public int countByRank(Rank r) {
+        return Long.bitCount(rankMask(r));
+    }
+
+    public int size() {
+        return Long.bitCount(cards);
+    }
+
+    boolean take(Card c) {
+        long bit = CardMask.bit(c);
+        if ((cards & bit) == 0)
+            return false;
+        cards &= ~bit;
+        return true;
+    }
+
+    Card nth(int n) {
+        return CardMask.nth(cards, n);
+    }
+
+    List<Card> cardsOf(long mask) {
+        return CardMask.toList(mask);
+    }
+
+    void clearCards() {
+        cards = CardMask.EMPTY;
+    }
+
+}
@@ -8,9 +8,51 @@ public final class Card {
     public final Suit suit; 
     public final Rank rank;
 
-    public Card(Rank rank, Suit suit) {
+    // A dense index identifying this card: the 52 cards from TWO to ACE
+    // take 0-51, suit by suit and ascending by rank, and the four
+    // LOW_ACE cards take 52-55.
+    private final int ordinal;
+
+    // The number of distinct cards, and so of ordinals.
+    public static final int COUNT = 56;
+
+    // The canonical instance of every card, indexed by ordinal.
+    // Cards are never constructed elsewhere, so two cards
+    // are equal exactly when they are the same object.
+    private static final Card[] cards = new Card[COUNT];
+
+    static {
+        for (Suit s : Suit.values())
+        for (Rank r : Rank.values()) {
+            Card c = new Card(r, s);
+            cards[c.ordinal] = c;
+        }
+    }
+
+    private Card(Rank rank, Suit suit) {
         this.suit = suit;
         this.rank = rank;
+        this.ordinal = (rank == Rank.LOW_ACE)
+            ? 52 + suit.ordinal()
+            : 13 * suit.ordinal() + (rank.value - 2);
+    }
+
+    // Returns the canonical card of the given rank and suit.
+    public static Card of(Rank rank, Suit suit) {
+        if (rank == Rank.LOW_ACE)
+            return cards[52 + suit.ordinal()];
+        else
+            return cards[13 * suit.ordinal() + (rank.value - 2)];
+    }
+
+    // Returns the canonical card with the given ordinal.
+    public static Card of(int ordinal) {
+        return cards[ordinal];
+    }
+
+    // Returns this card's dense index, suitable for indexing arrays.
+    public int ordinal() {
+        return ordinal;
     }
 
     @Override
@@ -20,13 +62,13 @@ public final class Card {
 
     @Override
     public boolean equals(Object obj) {
-        if (obj == null)
-            return false;
-        if (!(obj instanceof Card))
-            return false;
-        Card othercard = (Card)obj;
-        return (this.suit == othercard.suit
-             && this.rank == othercard.rank);
+        // Cards are interned, so identity is equality.
+        return (this == obj);
+    }
+
+    @Override
+    public int hashCode() {
+        return ordinal;
     }
 
     // Comparator for sorting by rank then suit
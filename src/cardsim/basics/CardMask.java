@@ -0,0 +1,100 @@
+package cardsim.basics;
+
+import java.util.*;
+
+
+// Static helpers for treating a set of cards as a single 64-bit mask.
+//
+// Each card owns the bit at its ordinal, so the 52 cards from TWO to ACE are
+// laid out suit by suit (CLUBS in bits 0-12, DIAMONDS in 13-25, HEARTS in 26-38
+// and SPADES in 39-51), ascending by rank within each suit, and the four
+// LOW_ACE cards take the remaining bits 52-55.
+public final class CardMask {
+
+    // The number of distinct cards a mask can describe.
+    public static final int SIZE = Card.COUNT;
+
+    // The empty set of cards.
+    public static final long EMPTY = 0L;
+
+    // Every card which a mask can describe.
+    public static final long ALL = (1L << SIZE) - 1;
+
+    // The four LOW_ACE cards.
+    public static final long LOW_ACES = 0xFL << 52;
+
+    // Lookup tables for the cards of each suit and rank.
+    private static final long[] suitMasks = new long[Suit.values().length];
+    private static final long[] rankMasks = new long[Rank.values().length];
+
+    static {
+        for (Suit s : Suit.values())
+        for (Rank r : Rank.values()) {
+            long bit = bit(Card.of(r, s));
+            suitMasks[s.ordinal()] |= bit;
+            rankMasks[r.ordinal()] |= bit;
+        }
+    }
+
+    private CardMask() { }
+
+    // Returns the mask containing only the given card.
+    public static long bit(Card c) {
+        return (1L << c.ordinal());
+    }
+
+    // Returns the mask of all cards of one suit.
+    public static long suit(Suit s) {
+        return suitMasks[s.ordinal()];
+    }
+
+    // Returns the mask of all cards of one rank.
+    public static long rank(Rank r) {
+        return rankMasks[r.ordinal()];
+    }
+
+    // Returns whether the mask contains the given card.
+    public static boolean contains(long mask, Card c) {
+        return (mask & bit(c)) != 0;
+    }
+
+    // Returns the number of cards in the mask.
+    public static int count(long mask) {
+        return Long.bitCount(mask);
+    }
+
+    // Returns the card with the lowest bit in the mask, or null if it is empty.
+    public static Card first(long mask) {
+        if (mask == 0)
+            return null;
+        else
+            return Card.of(Long.numberOfTrailingZeros(mask));
+    }
+
+    // Returns the card with the `n`th lowest bit in the mask,
+    // or null if the mask holds `n` cards or fewer.
+    public static Card nth(long mask, int n) {
+        if (n < 0)
+            return null;
+        for (int i = 0; i < n && mask != 0; i++)
+            mask &= (mask - 1); // clear the lowest bit
+        return first(mask);
+    }
+
+    // Returns the mask of the given cards.
+    public static long of(Collection<? extends Card> cs) {
+        long mask = 0;
+        for (Card c : cs)
+            mask |= bit(c);
+        return mask;
+    }
+
+    // Returns the cards of the mask as a new list, ordered by bit index.
+    public static List<Card> toList(long mask) {
+        List<Card> list = new ArrayList<>(Long.bitCount(mask));
+        for (long m = mask; m != 0; m &= (m - 1))
+            list.add(Card.of(Long.numberOfTrailingZeros(m)));
+        return list;
+    }
+
+}
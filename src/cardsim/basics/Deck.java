@@ -5,7 +5,36 @@ import java.util.*;
 
 public final class Deck implements DrawPile, DiscardPile {
 
-    private List<Card> cards;
+    // The cards are kept in a ring buffer, read from `top` onwards,
+    // so drawing from the top and returning cards to either end are O(1).
+    private Card[] cards;
+    private int top;
+    private int size;
+
+    // A second buffer of the same capacity, used when the ring is
+    // unwrapped into a contiguous range before shuffling or sorting.
+    private Card[] spare;
+
+    // a fresh deck in canonical order, copied back on every reset
+    private final Card[] fullDeck;
+
+    // the generator used by shuffle() when none is given
+    private final SplittableRandom random;
+
+    // a read-only view of the cards from the top down
+    private final List<Card> view = new AbstractList<Card>() {
+        @Override
+        public Card get(int i) {
+            if (i < 0 || i >= size)
+                throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+            return cards[wrap(top + i)];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    };
     
     // number of 52-card decks this deck is made up of
     private final int numberOfDecks; 
@@ -14,14 +43,32 @@ public final class Deck implements DrawPile, DiscardPile {
     private final Set<Suit> usedSuits;
     private final Set<Rank> usedRanks;
 
-    public Deck(int numberOfDecks, Set<Rank> usedRanks, Set<Suit> usedSuits) {
+    public Deck(int numberOfDecks, Set<Rank> usedRanks, Set<Suit> usedSuits, SplittableRandom random) {
         this.numberOfDecks = numberOfDecks;
+        this.random = random;
         this.usedSuits = usedSuits;
         this.usedRanks = usedRanks;
-        this.cards = new ArrayList<>();
+        this.fullDeck = new Card[numberOfDecks * usedSuits.size() * usedRanks.size()];
+        int i = 0;
+        for (int d = 0; d < numberOfDecks; d++)
+        for (Suit s : usedSuits)
+        for (Rank r : usedRanks) {
+            fullDeck[i++] = Card.of(r, s);
+        }
+        this.cards = new Card[Math.max(fullDeck.length, 16)];
+        this.spare = new Card[cards.length];
         reset();
     }
 
+    public Deck(int numberOfDecks, Set<Rank> usedRanks, Set<Suit> usedSuits) {
+        this(
+            numberOfDecks,
+            usedRanks,
+            usedSuits,
+            new SplittableRandom()
+        );
+    }
+
     public Deck(Set<Rank> usedRanks, Set<Suit> usedSuits) {
         this(
             1,
@@ -46,83 +93,145 @@ public final class Deck implements DrawPile, DiscardPile {
         );
     }
 
-    // shuffles the deck
+    // shuffles the deck with its own generator
     public void shuffle() {
-        Collections.shuffle(cards);
+        shuffle(random);
+    }
+
+    // shuffles the deck with the given generator, so that the
+    // same seed always produces the same order
+    public void shuffle(SplittableRandom random) {
+        unwrap();
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Card swapped = cards[i];
+            cards[i] = cards[j];
+            cards[j] = swapped;
+        }
     }
     
     // retrieves a card from the Deck, or null if none remain
     public Card draw() {
-        if (cards.size() > 0)
-            return cards.remove(0);
-        else
+        if (size == 0)
             return null;
+        Card card = cards[top];
+        top = wrap(top + 1);
+        size--;
+        return card;
     }
     
     // retrieves `n` cards from the Deck, or as many remain if there are fewer
     public List<Card> draw(int n) {
-        List<Card> drawnCards = new ArrayList<>();
-        Card card;
-        for (int i = 0; i < n; i++) {
-            card = draw();
-            if (card != null)
-                drawnCards.add(card);
+        int count = Math.min(n, size);
+        List<Card> drawnCards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            drawnCards.add(cards[wrap(top + i)]);
         }
+        top = wrap(top + count);
+        size -= count;
         return drawnCards;
     }
+
+    // moves `n` cards from the top of the Deck straight into a hand,
+    // or as many remain if there are fewer; returns how many were dealt
+    public int deal(int n, Hand target) {
+        int count = Math.min(n, size);
+        // the range is contiguous unless it wraps past the end of the buffer
+        int firstPart = Math.min(count, cards.length - top);
+        target.addAll(cards, top, firstPart);
+        if (firstPart < count)
+            target.addAll(cards, 0, count - firstPart);
+        top = wrap(top + count);
+        size -= count;
+        return count;
+    }
     
-    // returns a card to the deck (to be used as a discard pile for example)
+    // returns a card to the top of the deck (to be used as a discard pile for example)
     public void discard(Card c) {
-        cards.add(0, c);
+        ensureCapacity(size + 1);
+        top = wrap(top - 1 + cards.length);
+        cards[top] = c;
+        size++;
     }
 
     public void discardAll(List<Card> cs) {
+        ensureCapacity(size + cs.size());
         for (Card c : cs) {
-            cards.add(0, c);
+            discard(c);
         }
     }
+
+    // returns a card to the bottom of the deck, to be drawn after all others
+    public void placeOnBottom(Card c) {
+        ensureCapacity(size + 1);
+        cards[wrap(top + size)] = c;
+        size++;
+    }
     
-    // clears the Deck and repopulates with new cards
+    // clears the Deck and repopulates it with the canonical cards
     public void reset() {
-
-        cards.clear();
-
-        for (int i = 0; i < numberOfDecks; i++)
-        for (Suit s : usedSuits)
-        for (Rank r : usedRanks) {
-            cards.add(new Card(r, s));
-        }
-
+        ensureCapacity(fullDeck.length);
+        System.arraycopy(fullDeck, 0, cards, 0, fullDeck.length);
+        top = 0;
+        size = fullDeck.length;
     }
 
     // informs the player whether cards remain
     public boolean isEmpty() {
-        return (cards.size() == 0);
+        return (size == 0);
     }
 
     // informs the player how many cards remain
     public int size() {
-        return cards.size();
+        return size;
     }
 
     // returns the list of cards, immutably
     public List<Card> getCards() {
-        return Collections.unmodifiableList(cards);
+        return view;
     }
 
     // sorts the list of cards by suit then rank
     public void sortSuitRank() {
-        Collections.sort(cards, Card.suitThenRankComparator);
+        sort(Card.suitThenRankComparator);
     }
     
     // sorts the list of cards by rank then suit
     public void sortRankSuit() {
-        Collections.sort(cards, Card.rankThenSuitComparator);
+        sort(Card.rankThenSuitComparator);
     }
 
     // sorts by a given other comparator
     public void sort(Comparator<Card> comparator) {
-        Collections.sort(cards, comparator);
+        unwrap();
+        Arrays.sort(cards, 0, size, comparator);
+    }
+
+    // maps a position past the end of the buffer back to its start
+    private int wrap(int i) {
+        return (i >= cards.length) ? i - cards.length : i;
+    }
+
+    // moves the cards so that the top card is at index 0
+    private void unwrap() {
+        if (top == 0)
+            return;
+        int firstPart = Math.min(size, cards.length - top);
+        System.arraycopy(cards, top, spare, 0, firstPart);
+        System.arraycopy(cards, 0, spare, firstPart, size - firstPart);
+        Card[] unwrapped = spare;
+        spare = cards;
+        cards = unwrapped;
+        top = 0;
+    }
+
+    // grows the buffer, if necessary, to hold `capacity` cards
+    private void ensureCapacity(int capacity) {
+        if (capacity <= cards.length)
+            return;
+        unwrap();
+        cards = Arrays.copyOf(cards, Math.max(capacity, 2 * cards.length));
+        spare = new Card[cards.length];
     }
 
 }
\ No newline at end of file
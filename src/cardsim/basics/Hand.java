@@ -43,6 +43,24 @@ public interface Hand {
     // allowing the player to define a custom filter.
     public List<Card> filter(Predicate<Card> predicate);
 
+    // These mask functions describe the cards in the hand as a bitmask
+    // (see CardMask), so membership can be tested without building a list.
+    public long mask();
+    public long suitMask(Suit suit);
+    public long rankMask(Rank rank);
+
+    // These count functions return how many cards of
+    // one rank or suit are in the hand, without building a list.
+    public int countBySuit(Suit suit);
+    public int countByRank(Rank rank);
+
+    // Adds a card to the hand, as when it is dealt.
+    public void add(Card card);
+
+    // Adds `length` cards from an array to the hand, starting at `offset`.
+    // This lets a deck deal a contiguous range without building a list.
+    public void addAll(Card[] cards, int offset, int length);
+
     // Returns the number of cards in the hand.
     public int size();
 
@@ -67,4 +85,8 @@ public interface Hand {
     // Returns all unaccepted scheduled cards to the hand.
     public void returnUnused();
 
+    // Empties the hand, scheduled cards and all, and forgets its sort order,
+    // so that it is as it was when new and can be dealt again.
+    public void clear();
+
 }
\ No newline at end of file
@@ -7,28 +7,53 @@ public final class InfiniteDrawPile implements DrawPile {
 
     // a draw pile which produces cards infinitely.
 
-    private final List<Card> cards;
+    // the canonical cards which may be drawn
+    private final Card[] cards;
     private final int numberOfCards;
-    private final Random random = new Random();
+    private final SplittableRandom random;
+
+    public InfiniteDrawPile(Set<Rank> usedRanks, Set<Suit> usedSuits, SplittableRandom random) {
+        this.random = random;
+        this.numberOfCards = usedRanks.size() * usedSuits.size();
+        this.cards = new Card[numberOfCards];
+        int i = 0;
+        for (Suit s : usedSuits)
+        for (Rank r : usedRanks) {
+            cards[i++] = Card.of(r, s);
+        }
+    }
 
     public InfiniteDrawPile(Set<Rank> usedRanks, Set<Suit> usedSuits) {
-        this.cards = new Deck(usedRanks, usedSuits).getCards();
-        this.numberOfCards = cards.size();
+        this(
+            usedRanks,
+            usedSuits,
+            new SplittableRandom()
+        );
+    }
+
+    public InfiniteDrawPile(SplittableRandom random) {
+        this(
+            Rank.allRanks,
+            Suit.allSuits,
+            random
+        );
     }
 
     public InfiniteDrawPile() {
-        this.cards = new Deck().getCards();
-        this.numberOfCards = cards.size();
+        this(
+            Rank.allRanks,
+            Suit.allSuits
+        );
     }
 
     public boolean isEmpty() { return false; }
 
     public Card draw() {
-        return cards.get(random.nextInt(numberOfCards));
+        return cards[random.nextInt(numberOfCards)];
     }
 
     public List<Card> draw(int n) {
-        List<Card> drawnCards = new ArrayList<>();
+        List<Card> drawnCards = new ArrayList<>(n);
         for (int i = 0; i < n; i++) {
             drawnCards.add(draw());
         }
@@ -0,0 +1,189 @@
+package cardsim.basics;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+
+// What BitHand and MultiHand have in common: a CardMask of the cards held,
+// the cards scheduled to be played, and the order the cards are presented in.
+//
+// Subclasses decide how the cards are counted; everything here goes through
+// take(), add(), mask() and the listing functions below.
+abstract class MaskedHand implements Hand {
+
+    private Card[] scheduledCards;     // cards scheduled to be played this turn, in order
+    private int scheduledCount;
+
+    // The order in which getCards() presents the cards, or null
+    // for the natural mask order (suit then rank).
+    private Comparator<Card> order;
+
+    MaskedHand(int scheduledCapacity) {
+        this.scheduledCards = new Card[scheduledCapacity];
+        this.scheduledCount = 0;
+        this.order = null;
+    }
+
+    // Takes one copy of a card out of the hand, returning whether there was one.
+    abstract boolean take(Card c);
+
+    // Returns the `n`th card in the natural order, counting every copy.
+    abstract Card nth(int n);
+
+    // Lists every copy of the cards of a mask, in mask order.
+    abstract List<Card> cardsOf(long mask);
+
+    // Empties the hand of its cards; the scheduled cards are seen to by clear().
+    abstract void clearCards();
+
+    public boolean play(Card c) {
+        if (!take(c))
+            return false;
+        if (scheduledCount == scheduledCards.length)
+            scheduledCards = Arrays.copyOf(scheduledCards, 2 * scheduledCount);
+        scheduledCards[scheduledCount++] = c;
+        return true;
+    }
+
+    public boolean play(int n) {
+        if (n < 0 || size() <= n)
+            return false;
+        else if (isNaturalOrder(mask()))
+            return play(nth(n));
+        else
+            return play(getCards().get(n));
+    }
+
+    public boolean unplay(Card c) {
+        for (int i = 0; i < scheduledCount; i++) {
+            if (scheduledCards[i] == c)
+                return unplay(i);
+        }
+        return false;
+    }
+
+    public boolean unplay(int n) {
+        if (n < 0 || scheduledCount <= n)
+            return false;
+        else {
+            add(removeScheduled(n));
+            return true;
+        }
+    }
+
+    public void unplayAll() {
+        returnUnused();
+    }
+
+    public void sortSuitRank() {
+        order = null;
+    }
+
+    public void sortRankSuit() {
+        order = Card.rankThenSuitComparator;
+    }
+
+    public void sort(Comparator<Card> comparator) {
+        order = comparator;
+    }
+
+    public List<Card> filterBySuit(Suit s) {
+        return list(suitMask(s));
+    }
+
+    public List<Card> filterByRank(Rank r) {
+        return list(rankMask(r));
+    }
+
+    public List<Card> filter(Predicate<Card> pred) {
+        List<Card> filtered = new ArrayList<>();
+        for (Card c : getCards()) {
+            if (pred.test(c))
+                filtered.add(c);
+        }
+        return filtered;
+    }
+
+    public long suitMask(Suit s) {
+        return mask() & CardMask.suit(s);
+    }
+
+    public long rankMask(Rank r) {
+        return mask() & CardMask.rank(r);
+    }
+
+    public int scheduledSize() {
+        return scheduledCount;
+    }
+
+    public List<Card> getCards() {
+        return Collections.unmodifiableList(list(mask()));
+    }
+
+    public List<Card> getScheduledCards() {
+        return Collections.unmodifiableList(
+            Arrays.asList(Arrays.copyOf(scheduledCards, scheduledCount))
+        );
+    }
+
+    public Card accept() {
+        if (scheduledCount == 0)
+            throw new IndexOutOfBoundsException("No cards are scheduled to be played.");
+        return removeScheduled(0);
+    }
+
+    public List<Card> accept(int n) {
+        if (scheduledCount < n)
+            throw new IndexOutOfBoundsException("Only " + scheduledCount + " cards are scheduled to be played.");
+        List<Card> acceptedCards = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            acceptedCards.add(scheduledCards[i]);
+        }
+        System.arraycopy(scheduledCards, n, scheduledCards, 0, scheduledCount - n);
+        Arrays.fill(scheduledCards, scheduledCount - n, scheduledCount, null);
+        scheduledCount -= n;
+        return acceptedCards;
+    }
+
+    public List<Card> acceptAll() {
+        return accept(scheduledCount);
+    }
+
+    public void returnUnused() {
+        for (int i = 0; i < scheduledCount; i++) {
+            add(scheduledCards[i]);
+            scheduledCards[i] = null;
+        }
+        scheduledCount = 0;
+    }
+
+    public void clear() {
+        clearCards();
+        Arrays.fill(scheduledCards, 0, scheduledCount, null);
+        scheduledCount = 0;
+        order = null;
+    }
+
+    // Removes the `n`th scheduled card, keeping the others in order.
+    private Card removeScheduled(int n) {
+        Card c = scheduledCards[n];
+        System.arraycopy(scheduledCards, n + 1, scheduledCards, n, scheduledCount - n - 1);
+        scheduledCards[--scheduledCount] = null;
+        return c;
+    }
+
+    // Whether the mask order of these cards is already the presentation order.
+    // LOW_ACE cards sit above the others in the mask, so they need a real sort.
+    private boolean isNaturalOrder(long mask) {
+        return order == null && (mask & CardMask.LOW_ACES) == 0;
+    }
+
+    // Lists every copy of the cards of a mask in the presentation order.
+    private List<Card> list(long mask) {
+        List<Card> list = cardsOf(mask);
+        if (!isNaturalOrder(mask))
+            Collections.sort(list, (order == null) ? Card.suitThenRankComparator : order);
+        return list;
+    }
+
+}
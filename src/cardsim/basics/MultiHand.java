@@ -0,0 +1,118 @@
+package cardsim.basics;
+
+import java.util.*;
+
+
+// A hand which stores how many copies of each card it holds, for games
+// dealt from several decks.
+//
+// The counts are indexed by card ordinal, and a CardMask of the cards held
+// at least once is kept beside them, so playing, adding and the suit and
+// rank queries cost the same however many cards the hand holds, and the
+// mask functions allocate nothing. Only getCards() and the filters list
+// every copy. Copies of a card are interchangeable, so playing one by
+// identity always succeeds while any copy remains.
+public final class MultiHand extends MaskedHand {
+
+    private final byte[] counts;       // the copies of each card the player has, by ordinal
+    private long present;              // the cards with at least one copy
+    private int size;
+    private final int[] suitCounts;    // the cards of each suit, by suit ordinal
+
+    public MultiHand() {
+        super(16);
+        this.counts = new byte[Card.COUNT];
+        this.present = CardMask.EMPTY;
+        this.size = 0;
+        this.suitCounts = new int[Suit.values().length];
+    }
+
+    public MultiHand(Collection<? extends Card> cards) {
+        this();
+        addAll(cards);
+    }
+
+    // Returns the number of copies of a card in the hand.
+    public int count(Card c) {
+        return counts[c.ordinal()];
+    }
+
+    public void add(Card c) {
+        int ordinal = c.ordinal();
+        if (counts[ordinal] == Byte.MAX_VALUE)
+            throw new IllegalStateException("A hand can hold at most " + Byte.MAX_VALUE + " copies of [" + c + "].");
+        counts[ordinal]++;
+        present |= 1L << ordinal;
+        suitCounts[c.suit.ordinal()]++;
+        size++;
+    }
+
+    public void addAll(Collection<? extends Card> newCards) {
+        for (Card c : newCards)
+            add(c);
+    }
+
+    public void addAll(Card[] newCards, int offset, int length) {
+        for (int i = offset; i < offset + length; i++)
+            add(newCards[i]);
+    }
+
+    public long mask() {
+        return present;
+    }
+
+    public int countBySuit(Suit s) {
+        return suitCounts[s.ordinal()];
+    }
+
+    public int countByRank(Rank r) {
+        int count = 0;
+        for (long m = rankMask(r); m != 0; m &= (m - 1))
+            count += counts[Long.numberOfTrailingZeros(m)];
+        return count;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    boolean take(Card c) {
+        int ordinal = c.ordinal();
+        if (counts[ordinal] == 0)
+            return false;
+        if (--counts[ordinal] == 0)
+            present &= ~(1L << ordinal);
+        suitCounts[c.suit.ordinal()]--;
+        size--;
+        return true;
+    }
+
+    Card nth(int n) {
+        for (long m = present; m != 0; m &= (m - 1)) {
+            int ordinal = Long.numberOfTrailingZeros(m);
+            if (n < counts[ordinal])
+                return Card.of(ordinal);
+            n -= counts[ordinal];
+        }
+        return null;
+    }
+
+    List<Card> cardsOf(long mask) {
+        List<Card> list = new ArrayList<>();
+        for (long m = mask; m != 0; m &= (m - 1)) {
+            int ordinal = Long.numberOfTrailingZeros(m);
+            Card c = Card.of(ordinal);
+            for (int k = 0; k < counts[ordinal]; k++)
+                list.add(c);
+        }
+        return list;
+    }
+
+    void clearCards() {
+        Arrays.fill(counts, (byte)0);
+        present = CardMask.EMPTY;
+        size = 0;
+        Arrays.fill(suitCounts, 0);
+    }
+
+}
@@ -15,11 +15,12 @@ public final class OpenHand implements Hand {
     }
 
     public boolean play(Card c) {
-        boolean successful;
-        if (successful = cards.remove(c)) { // if the player did in fact have the card, and now does not...
-            scheduledCards.add(c); // add the removed card to be scheduled for play
-        }
-        return successful;
+        int i = indexOf(cards, c);
+        if (i < 0)
+            return false;
+        // the player did in fact have the card, so schedule it for play
+        scheduledCards.add(cards.remove(i));
+        return true;
     }
 
     public boolean play(int n) {
@@ -32,11 +33,11 @@ public final class OpenHand implements Hand {
     }
 
     public boolean unplay(Card c) {
-        boolean successful;
-        if (successful = scheduledCards.remove(c)) {
-            cards.add(c);
-        }
-        return successful;
+        int i = indexOf(scheduledCards, c);
+        if (i < 0)
+            return false;
+        cards.add(scheduledCards.remove(i));
+        return true;
     }
 
     public boolean unplay(int n) {
@@ -61,6 +62,12 @@ public final class OpenHand implements Hand {
         cards.addAll(newCards);
     }
 
+    public void addAll(Card[] newCards, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            cards.add(newCards[i]);
+        }
+    }
+
     public void sortSuitRank() {
         Collections.sort(cards, Card.suitThenRankComparator);
     }
@@ -90,6 +97,36 @@ public final class OpenHand implements Hand {
         return filtered;
     }
 
+    public long mask() {
+        return CardMask.of(cards);
+    }
+
+    public long suitMask(Suit s) {
+        return mask() & CardMask.suit(s);
+    }
+
+    public long rankMask(Rank r) {
+        return mask() & CardMask.rank(r);
+    }
+
+    public int countBySuit(Suit s) {
+        int count = 0;
+        for (Card c : cards) {
+            if (c.suit == s)
+                count++;
+        }
+        return count;
+    }
+
+    public int countByRank(Rank r) {
+        int count = 0;
+        for (Card c : cards) {
+            if (c.rank == r)
+                count++;
+        }
+        return count;
+    }
+
     public int size() {
         return cards.size();
     }
@@ -129,4 +166,18 @@ public final class OpenHand implements Hand {
         scheduledCards.clear();
     }
 
+    public void clear() {
+        cards.clear();
+        scheduledCards.clear();
+    }
+
+    // Cards are interned, so a card can be found by identity alone.
+    private static int indexOf(List<Card> cs, Card c) {
+        for (int i = 0; i < cs.size(); i++) {
+            if (cs.get(i) == c)
+                return i;
+        }
+        return -1;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,148 @@
+package cardsim.games;
+
+import java.util.*;
+
+
+// The merged outcome of a batch of games, totalled per implementation.
+public final class BatchResult<I> {
+
+    // The number of games played to the end
+    private long games;
+
+    // The number of games abandoned because a player broke the rules
+    private long gamesAbandoned;
+
+    // The number of games skipped because they would seat a quarantined implementation
+    private long gamesSkipped;
+
+    // The points earned by each implementation, over all its seats and games
+    private final Map<I, Long> totalPoints;
+
+    // The number of seats each implementation filled, over all games
+    private final Map<I, Long> seatsPlayed;
+
+    // The number of games each implementation caused to be abandoned,
+    // and the first of its infractions
+    private final Map<I, Long> infractions;
+    private final Map<I, RuleViolationException> firstInfractions;
+
+    // The implementations quarantined during the run
+    private final Set<I> quarantined;
+
+    public BatchResult() {
+        this.games = 0;
+        this.gamesAbandoned = 0;
+        this.gamesSkipped = 0;
+        this.totalPoints = new LinkedHashMap<>();
+        this.seatsPlayed = new LinkedHashMap<>();
+        this.infractions = new HashMap<>();
+        this.firstInfractions = new HashMap<>();
+        this.quarantined = new HashSet<>();
+    }
+
+    // Adds the totals one worker gathered from its game instance,
+    // where `points` is indexed by playerID.
+    void add(SimulatableGame<I> game, long[] points, long gamesPlayed) {
+        games += gamesPlayed;
+        for (int id = 0; id < points.length; id++) {
+            I impl = game.implementation(id);
+            totalPoints.merge(impl, points[id], Long::sum);
+            seatsPlayed.merge(impl, gamesPlayed, Long::sum);
+        }
+    }
+
+    // Adds the games one worker could not play to the end.
+    void addUnplayed(long abandoned, long skipped) {
+        gamesAbandoned += abandoned;
+        gamesSkipped += skipped;
+    }
+
+    // Adds the infractions recorded over the whole run.
+    void addInfractions(Map<I, Long> counts,
+                        Map<I, RuleViolationException> first,
+                        Set<I> quarantined) {
+        for (Map.Entry<I, Long> e : counts.entrySet()) {
+            infractions.merge(e.getKey(), e.getValue(), Long::sum);
+        }
+        for (Map.Entry<I, RuleViolationException> e : first.entrySet()) {
+            firstInfractions.putIfAbsent(e.getKey(), e.getValue());
+        }
+        this.quarantined.addAll(quarantined);
+    }
+
+    // Returns the number of games played to the end.
+    public long games() {
+        return games;
+    }
+
+    // Returns the number of games abandoned because a player broke the rules.
+    public long gamesAbandoned() {
+        return gamesAbandoned;
+    }
+
+    // Returns the number of games skipped because they would seat a quarantined implementation.
+    public long gamesSkipped() {
+        return gamesSkipped;
+    }
+
+    // Returns the number of games an implementation caused to be abandoned.
+    public long infractions(I impl) {
+        return infractions.getOrDefault(impl, 0L);
+    }
+
+    // Returns the first infraction of an implementation, or null if it had none.
+    public RuleViolationException firstInfraction(I impl) {
+        return firstInfractions.get(impl);
+    }
+
+    // Returns the implementations which were quarantined during the run.
+    public Set<I> quarantined() {
+        return Collections.unmodifiableSet(quarantined);
+    }
+
+    // Returns the implementations which played, in order of first appearance.
+    public Set<I> implementations() {
+        return Collections.unmodifiableSet(totalPoints.keySet());
+    }
+
+    // Returns the points an implementation earned over all its seats and games.
+    public long totalPoints(I impl) {
+        return totalPoints.getOrDefault(impl, 0L);
+    }
+
+    // Returns the number of seats an implementation filled over all games.
+    public long seatsPlayed(I impl) {
+        return seatsPlayed.getOrDefault(impl, 0L);
+    }
+
+    // Returns the average points an implementation earned per seat per game.
+    public double averagePoints(I impl) {
+        long seats = seatsPlayed(impl);
+        return (seats == 0) ? 0.0 : (double)totalPoints(impl) / seats;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(games).append(" games played.");
+        if (gamesAbandoned > 0 || gamesSkipped > 0)
+            sb.append(" (").append(gamesAbandoned).append(" abandoned, ")
+              .append(gamesSkipped).append(" skipped.)");
+        for (I impl : totalPoints.keySet()) {
+            sb.append(System.lineSeparator())
+              .append(impl).append(": ")
+              .append(totalPoints(impl)).append(" points over ")
+              .append(seatsPlayed(impl)).append(" seats, averaging ")
+              .append(String.format("%.3f", averagePoints(impl))).append(" per game.");
+        }
+        for (Map.Entry<I, Long> e : infractions.entrySet()) {
+            sb.append(System.lineSeparator())
+              .append(e.getKey()).append(" broke the rules ")
+              .append(e.getValue()).append(" times")
+              .append(quarantined.contains(e.getKey()) ? " and was quarantined" : "")
+              .append(", first: ").append(firstInfractions.get(e.getKey()).getMessage());
+        }
+        return sb.toString();
+    }
+
+}
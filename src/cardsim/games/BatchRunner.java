@@ -0,0 +1,262 @@
+package cardsim.games;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+
+// Plays a large number of games across several threads and merges the scores.
+//
+// The games are cut into fixed-size blocks, and each block draws its game
+// seeds from its own stream, split off of the master seed in block order.
+// Each worker thread builds its own game instance and claims blocks until
+// none remain, keeping its running totals to itself, so workers share
+// nothing but the block counter. If one worker fails the others stop at their
+// next block, and the failure is thrown from run(). Since a game's seed depends only on its
+// block, the merged result is the same however many threads are used,
+// as long as nothing is quarantined.
+//
+// A player who breaks the rules, or throws from one of its methods, abandons
+// only the game in progress. The infraction is recorded against its
+// implementation, and the earliest one by game number is kept for the report.
+// Once an implementation has broken the rules often enough it can be
+// quarantined: games which would seat it are skipped, and the rest carry on.
+// Which games are skipped then depends on when each thread learns of the
+// quarantine, so a run with quarantine is only reproducible on one thread.
+public final class BatchRunner {
+
+    // The number of worker threads
+    private final int threads;
+
+    // The number of games in each block of work
+    private final int blockSize;
+
+    // The number of infractions after which an implementation
+    // is quarantined, or 0 to never quarantine
+    private final int quarantineAfter;
+
+    public BatchRunner(int threads, int blockSize, int quarantineAfter) {
+        if (threads < 1)
+            throw new IllegalArgumentException("At least one thread is required, got (" + threads + ").");
+        if (blockSize < 1)
+            throw new IllegalArgumentException("Blocks must hold at least one game, got (" + blockSize + ").");
+        if (quarantineAfter < 0)
+            throw new IllegalArgumentException("The quarantine threshold cannot be negative, got (" + quarantineAfter + ").");
+        this.threads = threads;
+        this.blockSize = blockSize;
+        this.quarantineAfter = quarantineAfter;
+    }
+
+    public BatchRunner(int threads, int blockSize) {
+        this(threads, blockSize, 0);
+    }
+
+    public BatchRunner(int threads) {
+        this(threads, 1024);
+    }
+
+    public BatchRunner() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    // Plays `numberOfGames` games from the given master seed.
+    // `games` is called once per worker to build that worker's game instance,
+    // and every instance must seat the same implementations under the same IDs.
+    public <I> BatchResult<I> run(Supplier<? extends SimulatableGame<I>> games,
+                                  long numberOfGames,
+                                  long masterSeed) {
+
+        // Derive every block's seed up front, so they do not depend on scheduling.
+        int blocks = (int)((numberOfGames + blockSize - 1) / blockSize);
+        long[] blockSeeds = new long[blocks];
+        SplittableRandom master = new SplittableRandom(masterSeed);
+        for (int b = 0; b < blocks; b++) {
+            blockSeeds[b] = master.split().nextLong();
+        }
+
+        AtomicLong nextBlock = new AtomicLong();
+        AtomicBoolean failed = new AtomicBoolean();
+        Infractions<I> infractions = new Infractions<>(quarantineAfter);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<Worker<I>>> workers = new ArrayList<>(threads);
+
+        try {
+            for (int t = 0; t < threads; t++) {
+                workers.add(pool.submit(() -> {
+                    Worker<I> worker = new Worker<>(games.get(), infractions);
+                    try {
+                        long b;
+                        while (!failed.get() && !Thread.currentThread().isInterrupted()
+                                && (b = nextBlock.getAndIncrement()) < blocks) {
+                            long first = b * blockSize;
+                            worker.play(blockSeeds[(int)b], first, Math.min(blockSize, numberOfGames - first));
+                        }
+                    } catch (RuntimeException | Error e) {
+                        failed.set(true);
+                        throw e;
+                    } finally {
+                        worker.game.close();
+                    }
+                    return worker;
+                }));
+            }
+
+            BatchResult<I> result = new BatchResult<>();
+            for (Future<Worker<I>> future : workers) {
+                Worker<I> worker = future.get();
+                result.add(worker.game, worker.points, worker.gamesPlayed);
+                result.addUnplayed(worker.gamesAbandoned, worker.gamesSkipped);
+            }
+            result.addInfractions(infractions.counts(), infractions.first(), infractions.quarantined);
+            return result;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("The batch was interrupted.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException)cause;
+            if (cause instanceof Error)
+                throw (Error)cause;
+            throw new IllegalStateException(cause);
+        } finally {
+            pool.shutdownNow();
+        }
+
+    }
+
+    // One worker's game instance and running totals.
+    private static final class Worker<I> {
+
+        final SimulatableGame<I> game;
+
+        // The implementations this worker's game seats
+        final Set<I> lineup;
+
+        final Infractions<I> infractions;
+
+        // Points earned per playerID over all of this worker's games
+        final long[] points;
+
+        // Points earned per playerID in the latest game
+        final long[] gamePoints;
+
+        long gamesPlayed;
+        long gamesAbandoned;
+        long gamesSkipped;
+
+        Worker(SimulatableGame<I> game, Infractions<I> infractions) {
+            this.game = game;
+            this.infractions = infractions;
+            this.lineup = new HashSet<>();
+            for (int id = 0; id < game.playerCount(); id++) {
+                lineup.add(game.implementation(id));
+            }
+            this.points = new long[game.playerCount()];
+            this.gamePoints = new long[game.playerCount()];
+            this.gamesPlayed = 0;
+            this.gamesAbandoned = 0;
+            this.gamesSkipped = 0;
+        }
+
+        // Plays a block of `count` games, numbered from `first`,
+        // with seeds drawn from the block's stream.
+        void play(long blockSeed, long first, long count) {
+            SplittableRandom seeds = new SplittableRandom(blockSeed);
+            for (long i = 0; i < count; i++) {
+                // Draw the seed even for skipped games, so later games are unaffected.
+                long seed = seeds.nextLong();
+                if (infractions.quarantines(lineup)) {
+                    gamesSkipped++;
+                    continue;
+                }
+                try {
+                    game.game(seed, gamePoints);
+                } catch (RuleViolationException e) {
+                    gamesAbandoned++;
+                    if (e.playerID >= 0)
+                        infractions.record(game.implementation(e.playerID), first + i, e);
+                    continue;
+                }
+                for (int id = 0; id < points.length; id++) {
+                    points[id] += gamePoints[id];
+                }
+                gamesPlayed++;
+            }
+        }
+
+    }
+
+    // The infractions of a run, shared by all of its workers.
+    // Infractions are rare, so concurrent maps are cheap enough here.
+    private static final class Infractions<I> {
+
+        final int quarantineAfter;
+
+        final ConcurrentMap<I, LongAdder> counts = new ConcurrentHashMap<>();
+
+        // The earliest infraction of each implementation by game number, for the report
+        final ConcurrentMap<I, Infraction> first = new ConcurrentHashMap<>();
+
+        final Set<I> quarantined = ConcurrentHashMap.newKeySet();
+
+        Infractions(int quarantineAfter) {
+            this.quarantineAfter = quarantineAfter;
+        }
+
+        void record(I impl, long gameNumber, RuleViolationException e) {
+            LongAdder count = counts.computeIfAbsent(impl, k -> new LongAdder());
+            count.increment();
+            Infraction infraction = new Infraction(gameNumber, e);
+            first.merge(impl, infraction, (a, b) -> (a.gameNumber <= b.gameNumber) ? a : b);
+            if (quarantineAfter > 0 && count.sum() >= quarantineAfter)
+                quarantined.add(impl);
+        }
+
+        // Whether a game seating these implementations should be skipped.
+        boolean quarantines(Set<I> lineup) {
+            if (quarantined.isEmpty())
+                return false;
+            for (I impl : lineup) {
+                if (quarantined.contains(impl))
+                    return true;
+            }
+            return false;
+        }
+
+        Map<I, RuleViolationException> first() {
+            Map<I, RuleViolationException> earliest = new HashMap<>();
+            for (Map.Entry<I, Infraction> e : first.entrySet()) {
+                earliest.put(e.getKey(), e.getValue().exception);
+            }
+            return earliest;
+        }
+
+        Map<I, Long> counts() {
+            Map<I, Long> totals = new HashMap<>();
+            for (Map.Entry<I, LongAdder> e : counts.entrySet()) {
+                totals.put(e.getKey(), e.getValue().sum());
+            }
+            return totals;
+        }
+
+    }
+
+    // An infraction and the number of the game it ended.
+    private static final class Infraction {
+
+        final long gameNumber;
+        final RuleViolationException exception;
+
+        Infraction(long gameNumber, RuleViolationException exception) {
+            this.gameNumber = gameNumber;
+            this.exception = exception;
+        }
+
+    }
+
+}
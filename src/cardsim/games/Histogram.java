@@ -0,0 +1,101 @@
+package cardsim.games;
+
+
+// Counts of values falling into a fixed row of equal-width bins.
+//
+// The bins are fixed up front, so the histogram takes the same memory however
+// many values it sees. Values below the first bin or past the last are counted
+// apart rather than dropped. Histograms with the same bins combine with merge().
+public final class Histogram {
+
+    // The lowest value of the first bin, and the width of each bin
+    private final long low;
+    private final long width;
+
+    private final long[] counts;
+    private long below;
+    private long above;
+
+    public Histogram(long low, long width, int bins) {
+        if (width < 1)
+            throw new IllegalArgumentException("Bins must be at least 1 wide, got (" + width + ").");
+        if (bins < 1)
+            throw new IllegalArgumentException("At least one bin is required, got (" + bins + ").");
+        this.low = low;
+        this.width = width;
+        this.counts = new long[bins];
+        this.below = 0;
+        this.above = 0;
+    }
+
+    // Adds one value.
+    public void add(long value) {
+        if (value < low) {
+            below++;
+            return;
+        }
+        long bin = (value - low) / width;
+        if (bin >= counts.length)
+            above++;
+        else
+            counts[(int)bin]++;
+    }
+
+    // Adds every value another histogram has seen. Both must have the same bins.
+    public void merge(Histogram other) {
+        if (other.low != low || other.width != width || other.counts.length != counts.length)
+            throw new IllegalArgumentException("Cannot merge histograms with different bins.");
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        below += other.below;
+        above += other.above;
+    }
+
+    public int bins() {
+        return counts.length;
+    }
+
+    // Returns the lowest value which falls into the given bin.
+    public long binLow(int bin) {
+        return low + bin * width;
+    }
+
+    // Returns the number of values which fell into the given bin.
+    public long count(int bin) {
+        return counts[bin];
+    }
+
+    // Returns the number of values below the first bin.
+    public long below() {
+        return below;
+    }
+
+    // Returns the number of values past the last bin.
+    public long above() {
+        return above;
+    }
+
+    // Returns the number of values added, in or out of the bins.
+    public long total() {
+        long total = below + above;
+        for (long c : counts)
+            total += c;
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        if (below > 0)
+            sb.append("<").append(low).append(": ").append(below).append(" ");
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0)
+                sb.append(binLow(i)).append(": ").append(counts[i]).append(" ");
+        }
+        if (above > 0)
+            sb.append(">=").append(binLow(counts.length)).append(": ").append(above).append(" ");
+        return sb.toString().trim();
+    }
+
+}
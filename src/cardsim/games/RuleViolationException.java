@@ -0,0 +1,28 @@
+package cardsim.games;
+
+
+// Thrown when a player breaks the rules of a game so badly that it cannot go on.
+// Only the game in progress is abandoned; the game instance can play the next one.
+public class RuleViolationException extends Exception {
+
+    private static final long serialVersionUID = 1L;
+
+    // The ID of the player who broke the rules, or -1 if it is unknown
+    public final long playerID;
+
+    public RuleViolationException(long playerID, String message) {
+        super(message);
+        this.playerID = playerID;
+    }
+
+    // For a player who broke the game by throwing `cause` from one of its methods.
+    public RuleViolationException(long playerID, String message, Throwable cause) {
+        super(message, cause);
+        this.playerID = playerID;
+    }
+
+    public RuleViolationException(String message) {
+        this(-1, message);
+    }
+
+}
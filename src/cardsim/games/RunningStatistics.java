@@ -0,0 +1,100 @@
+package cardsim.games;
+
+
+// The count, mean, variance and range of a stream of values, kept in constant memory.
+//
+// Values are folded in one at a time with Welford's update, which stays
+// accurate over very long streams where summing squares would not. Two
+// accumulators fed separately, say by two threads, combine exactly with
+// merge(), so each thread can keep its own and nothing need be shared
+// until the end.
+public final class RunningStatistics {
+
+    private long count;
+    private double mean;
+    private double sumOfSquares; // of the differences from the mean
+    private double min;
+    private double max;
+
+    public RunningStatistics() {
+        this.count = 0;
+        this.mean = 0.0;
+        this.sumOfSquares = 0.0;
+        this.min = Double.POSITIVE_INFINITY;
+        this.max = Double.NEGATIVE_INFINITY;
+    }
+
+    // Adds one value.
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        sumOfSquares += delta * (value - mean);
+        if (value < min)
+            min = value;
+        if (value > max)
+            max = value;
+    }
+
+    // Adds every value another accumulator has seen, as though they had been added here.
+    public void merge(RunningStatistics other) {
+        if (other.count == 0)
+            return;
+        if (count == 0) {
+            count = other.count;
+            mean = other.mean;
+            sumOfSquares = other.sumOfSquares;
+            min = other.min;
+            max = other.max;
+            return;
+        }
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * ((double)other.count / total);
+        sumOfSquares += other.sumOfSquares + delta * delta * ((double)count * other.count / total);
+        count = total;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    // Returns the number of values added.
+    public long count() {
+        return count;
+    }
+
+    // Returns the mean of the values, or 0 if there are none.
+    public double mean() {
+        return mean;
+    }
+
+    // Returns the sample variance of the values, or 0 if there are fewer than two.
+    public double variance() {
+        return (count < 2) ? 0.0 : sumOfSquares / (count - 1);
+    }
+
+    public double standardDeviation() {
+        return Math.sqrt(variance());
+    }
+
+    // Returns the standard error of the mean, or 0 if there are fewer than two values.
+    public double standardError() {
+        return (count < 2) ? 0.0 : Math.sqrt(variance() / count);
+    }
+
+    // Returns the smallest value, or NaN if there are none.
+    public double min() {
+        return (count == 0) ? Double.NaN : min;
+    }
+
+    // Returns the largest value, or NaN if there are none.
+    public double max() {
+        return (count == 0) ? Double.NaN : max;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d mean=%.3f sd=%.3f min=%s max=%s",
+                             count, mean(), standardDeviation(), min(), max());
+    }
+
+}
@@ -0,0 +1,310 @@
+package cardsim.games;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+
+// Compares two implementations by playing games in batches until one is
+// shown to score more than the other, or until a maximum number of games.
+//
+// Each game seating both implementations yields one difference: the mean
+// points of the first implementation's seats minus those of the second's.
+// After each batch a mixture sequential probability ratio test (mSPRT) asks
+// whether the mean difference is zero. Its likelihood ratio mixes a normal
+// prior of variance `mixture` times the observed variance over the true mean
+// difference, and the test stops as soon as that ratio reaches 1 / (1 - confidence).
+// Unlike a fixed-size test, it may be checked after every batch without
+// inflating the chance of a false separation, so clear-cut matchups stop
+// early and close ones run to the maximum.
+//
+// As in BatchRunner, games are cut into fixed-size blocks with seeds split
+// off of the master seed in order, and block results are merged in block
+// order, so the outcome does not depend on the number of threads. Game
+// instances are built once per thread and reused for every batch.
+public final class SequentialComparison {
+
+    // The chance of declaring a difference when there is none is at most 1 - confidence
+    private final double confidence;
+
+    // The variance of the mixing prior, relative to the variance of the differences.
+    // Small values favour finding small differences, large values large ones.
+    private final double mixture;
+
+    // The number of games between checks, and the most games to play
+    private final long batchSize;
+    private final long maxGames;
+
+    private final int threads;
+    private final int blockSize;
+
+    public SequentialComparison(double confidence, double mixture,
+                                long batchSize, long maxGames,
+                                int threads, int blockSize) {
+        if (!(confidence > 0 && confidence < 1))
+            throw new IllegalArgumentException("The confidence must lie between 0 and 1, got (" + confidence + ").");
+        if (!(mixture > 0))
+            throw new IllegalArgumentException("The mixture variance must be positive, got (" + mixture + ").");
+        if (batchSize < 1)
+            throw new IllegalArgumentException("Batches must hold at least one game, got (" + batchSize + ").");
+        if (maxGames < batchSize)
+            throw new IllegalArgumentException("The maximum (" + maxGames + ") is smaller than one batch (" + batchSize + ").");
+        if (threads < 1)
+            throw new IllegalArgumentException("At least one thread is required, got (" + threads + ").");
+        if (blockSize < 1)
+            throw new IllegalArgumentException("Blocks must hold at least one game, got (" + blockSize + ").");
+        this.confidence = confidence;
+        this.mixture = mixture;
+        this.batchSize = batchSize;
+        this.maxGames = maxGames;
+        this.threads = threads;
+        this.blockSize = blockSize;
+    }
+
+    public SequentialComparison(double confidence, long batchSize, long maxGames) {
+        this(confidence, 0.01, batchSize, maxGames, Runtime.getRuntime().availableProcessors(), 1024);
+    }
+
+    // Plays games until `first` and `second` are separated or the maximum is reached.
+    // `games` is called once per thread, and every instance must seat both
+    // implementations under the same IDs.
+    public <I> Result<I> compare(Supplier<? extends SimulatableGame<I>> games,
+                                 I first, I second,
+                                 long masterSeed) {
+
+        if (first.equals(second))
+            throw new IllegalArgumentException("Cannot compare " + first + " with itself.");
+
+        SplittableRandom master = new SplittableRandom(masterSeed);
+        Queue<Player<I>> idle = new ConcurrentLinkedQueue<>();
+        List<Player<I>> built = new CopyOnWriteArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+        RunningStatistics differences = new RunningStatistics();
+        long abandoned = 0;
+        long played = 0;
+        int batches = 0;
+        double likelihoodRatio = 1.0;
+        double threshold = 1.0 / (1.0 - confidence);
+
+        try {
+            while (played < maxGames && likelihoodRatio < threshold) {
+
+                // Cut this batch into blocks, seeding each in order.
+                long batch = Math.min(batchSize, maxGames - played);
+                List<Future<Block>> blocks = new ArrayList<>();
+                for (long start = 0; start < batch; start += blockSize) {
+                    long seed = master.split().nextLong();
+                    long count = Math.min(blockSize, batch - start);
+                    blocks.add(pool.submit(() -> {
+                        Player<I> player = idle.poll();
+                        if (player == null) {
+                            player = new Player<>(games.get(), first, second);
+                            built.add(player);
+                        }
+                        try {
+                            return player.play(seed, count);
+                        } finally {
+                            idle.add(player);
+                        }
+                    }));
+                }
+
+                for (Future<Block> future : blocks) {
+                    Block block = future.get();
+                    differences.merge(block.differences);
+                    abandoned += block.abandoned;
+                }
+                played += batch;
+                batches++;
+                likelihoodRatio = likelihoodRatio(differences);
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("The comparison was interrupted.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException)cause;
+            if (cause instanceof Error)
+                throw (Error)cause;
+            throw new IllegalStateException(cause);
+        } finally {
+            pool.shutdownNow();
+            for (Player<I> player : built) {
+                player.game.close();
+            }
+        }
+
+        return new Result<>(first, second, differences, abandoned, batches,
+                            likelihoodRatio, likelihoodRatio >= threshold, confidence);
+    }
+
+    // The mSPRT likelihood ratio of the differences against a mean of zero,
+    // with the observed variance standing in for the true one.
+    private double likelihoodRatio(RunningStatistics differences) {
+        long n = differences.count();
+        double variance = differences.variance();
+        if (n < 2)
+            return 1.0;
+        if (variance == 0)
+            // Every game gave the same difference.
+            return (differences.mean() == 0) ? 1.0 : Double.POSITIVE_INFINITY;
+        double sum = differences.mean() * n;
+        double spread = 1 + n * mixture;
+        double exponent = mixture * sum * sum / (2 * variance * spread);
+        return Math.exp(exponent - 0.5 * Math.log(spread));
+    }
+
+    // The outcome of a comparison.
+    public static final class Result<I> {
+
+        public final I first;
+        public final I second;
+
+        // The per-game differences, first minus second
+        private final RunningStatistics differences;
+
+        private final long gamesAbandoned;
+        private final int batches;
+        private final double likelihoodRatio;
+        private final boolean separated;
+        private final double confidence;
+
+        Result(I first, I second, RunningStatistics differences,
+               long gamesAbandoned, int batches,
+               double likelihoodRatio, boolean separated, double confidence) {
+            this.first = first;
+            this.second = second;
+            this.differences = differences;
+            this.gamesAbandoned = gamesAbandoned;
+            this.batches = batches;
+            this.likelihoodRatio = likelihoodRatio;
+            this.separated = separated;
+            this.confidence = confidence;
+        }
+
+        // Returns whether the implementations were separated at the requested confidence,
+        // rather than the maximum number of games being reached.
+        public boolean separated() {
+            return separated;
+        }
+
+        // Returns the implementation shown to score more, or null if neither was.
+        public I better() {
+            if (!separated)
+                return null;
+            return (differences.mean() > 0) ? first : second;
+        }
+
+        // Returns the number of games which yielded a difference.
+        public long games() {
+            return differences.count();
+        }
+
+        // Returns the number of games abandoned because a player broke the rules.
+        public long gamesAbandoned() {
+            return gamesAbandoned;
+        }
+
+        public int batches() {
+            return batches;
+        }
+
+        // Returns the statistics of the per-game differences, first minus second.
+        public RunningStatistics differences() {
+            return differences;
+        }
+
+        public double likelihoodRatio() {
+            return likelihoodRatio;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(first).append(" vs ").append(second).append(": ")
+              .append(String.format("mean difference %+.4f (se %.4f) over %d games in %d batches",
+                                    differences.mean(), differences.standardError(),
+                                    games(), batches));
+            if (gamesAbandoned > 0)
+                sb.append(" (").append(gamesAbandoned).append(" abandoned)");
+            if (separated)
+                sb.append(String.format(", %s scores more at %.4g confidence.", better(), confidence));
+            else
+                sb.append(", not separated at ").append(String.format("%.4g", confidence)).append(" confidence.");
+            return sb.toString();
+        }
+
+    }
+
+    // The differences of one block of games.
+    private static final class Block {
+
+        final RunningStatistics differences = new RunningStatistics();
+        long abandoned;
+
+    }
+
+    // One thread's game instance, with the seats of the two implementations.
+    private static final class Player<I> {
+
+        final SimulatableGame<I> game;
+
+        // Per playerID: +1 for a seat of the first implementation,
+        // -1 for the second, 0 for any other
+        final int[] side;
+        final int firstSeats;
+        final int secondSeats;
+
+        final long[] points;
+
+        Player(SimulatableGame<I> game, I first, I second) {
+            this.game = game;
+            this.side = new int[game.playerCount()];
+            int f = 0, s = 0;
+            for (int id = 0; id < side.length; id++) {
+                I impl = game.implementation(id);
+                if (impl.equals(first)) {
+                    side[id] = 1;
+                    f++;
+                } else if (impl.equals(second)) {
+                    side[id] = -1;
+                    s++;
+                }
+            }
+            if (f == 0 || s == 0) {
+                game.close();
+                throw new IllegalArgumentException("The game must seat both " + first + " and " + second + ".");
+            }
+            this.firstSeats = f;
+            this.secondSeats = s;
+            this.points = new long[side.length];
+        }
+
+        Block play(long blockSeed, long count) {
+            Block block = new Block();
+            SplittableRandom seeds = new SplittableRandom(blockSeed);
+            for (long i = 0; i < count; i++) {
+                try {
+                    game.game(seeds.nextLong(), points);
+                } catch (RuleViolationException e) {
+                    block.abandoned++;
+                    continue;
+                }
+                long firstPoints = 0, secondPoints = 0;
+                for (int id = 0; id < points.length; id++) {
+                    if (side[id] > 0)
+                        firstPoints += points[id];
+                    else if (side[id] < 0)
+                        secondPoints += points[id];
+                }
+                block.differences.add((double)firstPoints / firstSeats - (double)secondPoints / secondSeats);
+            }
+            return block;
+        }
+
+    }
+
+}
@@ -0,0 +1,38 @@
+package cardsim.games;
+
+import java.util.*;
+
+
+// A game which can be played over and over by a BatchRunner.
+// Each game seats playerCount() players with IDs 0 to playerCount()-1,
+// and each ID is always played by the same implementation, of type I.
+public interface SimulatableGame<I> extends AutoCloseable {
+
+    // Returns the number of players seated in every game.
+    public int playerCount();
+
+    // Returns the implementation which plays under the given ID.
+    public I implementation(long playerID);
+
+    // Plays a game from the given seed.
+    // The same seed must always produce the same game.
+    // Returns a mapping of playerID to points earned.
+    // Throws if a player breaks the rules, abandoning only this game.
+    // An exception thrown by a player should be reported the same way,
+    // as a RuleViolationException naming that player.
+    public Map<Long, Long> game(long seed) throws RuleViolationException;
+
+    // Plays a game from the given seed, writing the points
+    // earned by each player into `points`, indexed by playerID.
+    // Games which can avoid building a map should override this.
+    public default void game(long seed, long[] points) throws RuleViolationException {
+        for (Map.Entry<Long, Long> score : game(seed).entrySet()) {
+            points[score.getKey().intValue()] = score.getValue();
+        }
+    }
+
+    // Releases anything the game holds on to between games, such as threads.
+    @Override
+    public default void close() { }
+
+}
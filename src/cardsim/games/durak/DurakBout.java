@@ -0,0 +1,111 @@
+package cardsim.games.durak;
+
+import cardsim.basics.*;
+
+
+// The cards on the table in one bout of Durak, as shown to the players.
+//
+// Each attacking card is paired with the card which beat it, if it has been
+// beaten. The engine keeps one bout and clears it between bouts, so a player
+// must not hold on to it, or expect it to stay the same, once a call returns.
+public final class DurakBout {
+
+    // The trump suit of the game
+    private Suit trump;
+
+    // The players attacking first and defending
+    private long attackerID;
+    private long defenderID;
+
+    // The most attacking cards the bout may hold
+    private int limit;
+
+    // The attacking cards, and the card which beat each, or null
+    private final Card[] attacks = new Card[DurakRules.MAX_ATTACKS];
+    private final Card[] defences = new Card[DurakRules.MAX_ATTACKS];
+    private int size;
+    private int defended;
+
+    // The ranks of every card on the table, as a mask of all their cards
+    private long ranks;
+
+    DurakBout() { }
+
+    // Clears the table for a new bout.
+    void start(Suit trump, long attackerID, long defenderID, int limit) {
+        this.trump = trump;
+        this.attackerID = attackerID;
+        this.defenderID = defenderID;
+        this.limit = limit;
+        for (int i = 0; i < size; i++) {
+            attacks[i] = null;
+            defences[i] = null;
+        }
+        size = 0;
+        defended = 0;
+        ranks = CardMask.EMPTY;
+    }
+
+    void attack(Card card) {
+        attacks[size++] = card;
+        ranks |= CardMask.rank(card.rank);
+    }
+
+    void defend(Card card) {
+        defences[defended++] = card;
+        ranks |= CardMask.rank(card.rank);
+    }
+
+    // Moves every card on the table into a hand, as when the defender takes them.
+    void takeInto(Hand hand) {
+        hand.addAll(attacks, 0, size);
+        hand.addAll(defences, 0, defended);
+    }
+
+    public Suit trump() {
+        return trump;
+    }
+
+    public long attackerID() {
+        return attackerID;
+    }
+
+    public long defenderID() {
+        return defenderID;
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    // Returns the number of attacking cards on the table.
+    public int size() {
+        return size;
+    }
+
+    // Returns the number of attacking cards which have been beaten.
+    // They are always the first ones.
+    public int defended() {
+        return defended;
+    }
+
+    public Card attack(int i) {
+        if (i < 0 || i >= size)
+            throw new IndexOutOfBoundsException("There are " + size + " attacking cards, not " + (i + 1) + ".");
+        return attacks[i];
+    }
+
+    // Returns the card which beat the `i`th attacking card, or null if it has not been beaten.
+    public Card defence(int i) {
+        if (i < 0 || i >= size)
+            throw new IndexOutOfBoundsException("There are " + size + " attacking cards, not " + (i + 1) + ".");
+        return (i < defended) ? defences[i] : null;
+    }
+
+    // Returns the mask (see CardMask) of every card whose rank is on the table,
+    // which are the cards that may be thrown in.
+    public long ranks() {
+        return ranks;
+    }
+
+}
@@ -0,0 +1,416 @@
+package cardsim.games.durak;
+
+import cardsim.basics.*;
+import cardsim.games.*;
+import java.util.*;
+
+
+// Plays Durak ("fool"), the throw-in variant, between 2 and 6 players.
+//
+// A 36-card deck, SIX to ACE, is shuffled and six cards dealt to each player.
+// The card at the bottom of the draw pile is turned up and its suit is trumps;
+// it is the last card drawn. The player holding the lowest trump leads the first
+// bout against the next player, who must beat each attacking card with a higher
+// card of its suit or a trump, or take every card on the table. While the defence
+// holds, the attacker and then every other player may throw in cards of ranks
+// already on the table, up to six cards or as many as the defender held when the
+// bout began; those may still be thrown in after the defender gives up, before
+// they take them. Beaten cards leave the game. Everyone then draws back up to six,
+// the attacker first and the defender last, and the defender attacks next if they
+// held, or is skipped if they took.
+//
+// Once the draw pile is empty, players who run out of cards are out of the game,
+// and the last player left holding cards is the durak. A player who gets out
+// earns 1 point and the durak 0; if the last players run out together, nobody loses.
+//
+// As in SpadesGame, each game draws every random choice from its seed, and the
+// deck, the table, the engine's arrays and the players and their hands are
+// reused from game to game (see DurakPlayer.reset). A player which throws from
+// one of its methods breaks the rules, abandoning only the game in progress.
+public final class DurakGame implements SimulatableGame<DurakPlayerImpls> {
+
+    // A game which runs this many bouts without ending is called off as a draw;
+    // sensible players never get near it.
+    public static final int MAX_BOUTS = 10_000;
+
+    // The deck of 36 cards, SIX to ACE
+    private final Deck deck;
+
+    // The players participating, indexed by their ID.
+    // They are kept from game to game (see seat), and are null until first needed.
+    private final DurakPlayer[] players;
+
+    // The list of player implementations to draw from
+    private final List<DurakPlayerImpls> playerImpls;
+
+    // The master generator from which each unseeded game draws its seed
+    private final SplittableRandom seeds;
+
+    // The state of the game in progress, reused from game to game.
+
+    // The playerIDs in order of play, and a read-only view of them for the players
+    private final int[] playerOrder;
+    private final List<Long> playerOrderView;
+
+    // Which seats are still in the game, and how many
+    private final boolean[] active;
+    private int activeCount;
+
+    // The cards on the table
+    private final DurakBout bout;
+
+    // The points each player earned in the last game, and the durak, or -1
+    private final long[] points;
+    private int loser;
+
+    public DurakGame(DurakPlayerImpls... playerImpls) {
+        this(new SplittableRandom(), playerImpls);
+    }
+
+    public DurakGame(long masterSeed, DurakPlayerImpls... playerImpls) {
+        this(new SplittableRandom(masterSeed), playerImpls);
+    }
+
+    private DurakGame(SplittableRandom seeds, DurakPlayerImpls... playerImpls) {
+        int n = playerImpls.length;
+        if (n < 2 || n > DurakRules.MAX_PLAYERS)
+            throw new IllegalArgumentException("Durak is played by 2 to " + DurakRules.MAX_PLAYERS + " players, got (" + n + ").");
+        this.seeds = seeds;
+        this.deck = new Deck(1, DurakRules.RANKS, Suit.allSuits);
+        this.players = new DurakPlayer[n];
+        this.playerImpls = Arrays.asList(playerImpls);
+        this.playerOrder = new int[n];
+        this.playerOrderView = new AbstractList<Long>() {
+            @Override
+            public Long get(int i) {
+                return (long)playerOrder[i];
+            }
+
+            @Override
+            public int size() {
+                return playerOrder.length;
+            }
+        };
+        this.active = new boolean[n];
+        this.bout = new DurakBout();
+        this.points = new long[n];
+        this.loser = -1;
+    }
+
+    // The number of players seated in every game.
+    public int playerCount() {
+        return playerImpls.size();
+    }
+
+    // Players' IDs are their positions in the list of implementations.
+    public DurakPlayerImpls implementation(long playerID) {
+        return playerImpls.get((int)playerID);
+    }
+
+    // Closes every player. The next game builds them anew.
+    @Override
+    public void close() {
+        for (int playerID = 0; playerID < players.length; playerID++) {
+            if (players[playerID] != null) {
+                players[playerID].close();
+                players[playerID] = null;
+            }
+        }
+    }
+
+    // Returns the playerID of the durak of the last game, or -1 if nobody lost.
+    public int loser() {
+        return loser;
+    }
+
+    // Play a game of Durak.
+    // Returns a mapping of playerID to points earned.
+    public Map<Long, Long> game() throws DurakRuleViolationException {
+        return game(seeds.nextLong());
+    }
+
+    // Play a game from a given seed.
+    // The same seed and players always produce the same game.
+    public Map<Long, Long> game(long seed) throws DurakRuleViolationException {
+        play(seed);
+        Map<Long, Long> finalScore = new HashMap<>(players.length);
+        for (int playerID = 0; playerID < players.length; playerID++)
+            finalScore.put((long)playerID, points[playerID]);
+        return finalScore;
+    }
+
+    // Play a game from a given seed, writing the points
+    // earned by each player into `points`, indexed by playerID.
+    @Override
+    public void game(long seed, long[] points) throws DurakRuleViolationException {
+        play(seed);
+        System.arraycopy(this.points, 0, points, 0, this.points.length);
+    }
+
+    private void play(long seed) throws DurakRuleViolationException {
+
+        final int n = players.length;
+
+        // Every random choice in this game, including those of the players,
+        // is drawn from this generator or from streams split off of it.
+        SplittableRandom random = new SplittableRandom(seed);
+
+        deck.reset();
+        deck.shuffle(random);
+
+        // The bottom card is turned up for trumps, and drawn last.
+        Card trumpCard = deck.getCards().get(deck.size() - 1);
+        Suit trump = trumpCard.suit;
+
+        // Ensure order of play is random every game
+        for (int playerID = 0; playerID < n; playerID++)
+            playerOrder[playerID] = playerID;
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swapped = playerOrder[i];
+            playerOrder[i] = playerOrder[j];
+            playerOrder[j] = swapped;
+        }
+
+        // Deal in order of play, so with six players the last seat holds the trump card.
+        for (int seat = 0; seat < n; seat++) {
+            int playerID = playerOrder[seat];
+            seat(playerID, random.split());
+            deck.deal(DurakRules.HAND_SIZE, players[playerID].hand);
+        }
+
+        for (int seat = 0; seat < n; seat++) {
+            DurakPlayer player = players[playerOrder[seat]];
+            try {
+                player.gameStarted(trumpCard, playerOrderView);
+            } catch (RuntimeException e) {
+                throw thrown(player, "reading the trump card and order of play", e);
+            }
+        }
+
+        Arrays.fill(active, true);
+        activeCount = n;
+
+        // The holder of the lowest trump attacks first, or the first player if nobody has one.
+        int attacker = 0;
+        long lowest = 0;
+        for (int seat = 0; seat < n; seat++) {
+            long trumps = players[playerOrder[seat]].hand.suitMask(trump);
+            long low = Long.lowestOneBit(trumps);
+            if (low != 0 && (lowest == 0 || low < lowest)) {
+                lowest = low;
+                attacker = seat;
+            }
+        }
+
+        for (int bouts = 0; activeCount > 1 && bouts < MAX_BOUTS; bouts++) {
+            int defender = nextActive(attacker);
+            boolean taken = playBout(attacker, defender, trump);
+            refill(attacker, defender);
+            leaveIfOut();
+            if (activeCount <= 1)
+                break;
+            // The defender attacks next if they held, or is skipped if they took.
+            attacker = (taken || !active[defender]) ? nextActive(defender) : defender;
+        }
+
+        loser = -1;
+        for (int seat = 0; seat < n; seat++) {
+            int playerID = playerOrder[seat];
+            boolean durak = activeCount == 1 && active[seat];
+            points[playerID] = durak ? 0 : 1;
+            if (durak)
+                loser = playerID;
+        }
+
+    }
+
+    // Readies a player for a new game with an empty hand and the given random stream.
+    // The player of the last game is reset if it allows it, and otherwise closed and replaced.
+    private void seat(int playerID, SplittableRandom random) throws DurakRuleViolationException {
+        DurakPlayer player = players[playerID];
+        try {
+            if (player != null) {
+                player.hand.clear();
+                if (player.reset(random))
+                    return;
+                players[playerID] = null;
+                player.close();
+            }
+            players[playerID] = playerImpls.get(playerID).get(new BitHand(), playerID, random);
+        } catch (RuntimeException e) {
+            throw new DurakRuleViolationException(
+                playerID,
+                "Player " + playerImpls.get(playerID) + " (" + playerID + ") threw an exception while being seated: " + e,
+                e
+            );
+        }
+    }
+
+    // Plays one bout, returning whether the defender took the cards.
+    private boolean playBout(int attackerSeat, int defenderSeat, Suit trump) throws DurakRuleViolationException {
+
+        DurakPlayer attacker = players[playerOrder[attackerSeat]];
+        DurakPlayer defender = players[playerOrder[defenderSeat]];
+        int limit = Math.min(DurakRules.MAX_ATTACKS, defender.hand.size());
+        bout.start(trump, attacker.playerID, defender.playerID, limit);
+
+        // The lead: one or more cards of one rank.
+        try {
+            attacker.attack(bout);
+        } catch (RuntimeException e) {
+            throw thrown(attacker, "attacking", e);
+        }
+        int led = attacker.hand.scheduledSize();
+        if (led < 1 || led > limit)
+            majorInfraction(attacker, "Between (1) and (" + limit + ") cards were expected to lead, instead got (" + led + ").");
+        Rank rank = null;
+        for (int i = 0; i < led; i++) {
+            Card card = attacker.hand.accept();
+            if (rank != null && card.rank != rank)
+                majorInfraction(attacker, "The lead must be of one rank, instead got (" + rank.strRep + ") and (" + card.rank.strRep + ").");
+            rank = card.rank;
+            bout.attack(card);
+        }
+
+        boolean taken = false;
+        while (true) {
+
+            // The defender beats every unbeaten card, or gives up.
+            if (!taken) {
+                try {
+                    defender.defend(bout);
+                } catch (RuntimeException e) {
+                    throw thrown(defender, "defending", e);
+                }
+                int unbeaten = bout.size() - bout.defended();
+                int played = defender.hand.scheduledSize();
+                if (played == 0) {
+                    taken = true;
+                } else if (played != unbeaten) {
+                    majorInfraction(defender, "(" + unbeaten + ") cards were expected to defend, instead got (" + played + ").");
+                } else {
+                    for (int i = bout.defended(); i < bout.size(); i++) {
+                        Card attack = bout.attack(i);
+                        Card defence = defender.hand.accept();
+                        if (!DurakRules.beats(defence, attack, trump))
+                            majorInfraction(defender, "The card [" + defence + "] does not beat [" + attack + "].");
+                        bout.defend(defence);
+                    }
+                }
+            }
+
+            // Everyone else may throw in, the attacker first.
+            int thrown = 0;
+            for (int seat = attackerSeat; ; seat = nextActive(seat)) {
+                if (seat != defenderSeat)
+                    thrown += throwIn(players[playerOrder[seat]]);
+                if (nextActive(seat) == attackerSeat)
+                    break;
+            }
+
+            // After a take, whatever was thrown in is taken too.
+            if (taken || thrown == 0)
+                break;
+        }
+
+        if (taken)
+            bout.takeInto(defender.hand);
+        for (int seat = 0; seat < players.length; seat++) {
+            if (!active[seat])
+                continue;
+            DurakPlayer player = players[playerOrder[seat]];
+            try {
+                player.boutEnded(bout, taken);
+            } catch (RuntimeException e) {
+                throw thrown(player, "reading the end of a bout", e);
+            }
+        }
+        return taken;
+
+    }
+
+    // Lets a player throw cards in, returning how many they threw.
+    private int throwIn(DurakPlayer player) throws DurakRuleViolationException {
+        int room = bout.limit() - bout.size();
+        if (room == 0)
+            return 0;
+        long legalMoves = player.hand.mask() & bout.ranks();
+        if (legalMoves == 0)
+            return 0;
+        try {
+            player.throwIn(bout, legalMoves, room);
+        } catch (RuntimeException e) {
+            throw thrown(player, "throwing in", e);
+        }
+        int thrown = player.hand.scheduledSize();
+        if (thrown > room)
+            majorInfraction(player, "At most (" + room + ") cards could be thrown in, instead got (" + thrown + ").");
+        for (int i = 0; i < thrown; i++) {
+            Card card = player.hand.accept();
+            if ((legalMoves & CardMask.bit(card)) == 0)
+                majorInfraction(player, "The rank of [" + card + "] is not on the table.");
+            bout.attack(card);
+        }
+        return thrown;
+    }
+
+    // Everyone draws back up to a full hand, the attacker first,
+    // then the others in order of play, and the defender last.
+    private void refill(int attackerSeat, int defenderSeat) {
+        for (int seat = attackerSeat; !deck.isEmpty(); seat = nextActive(seat)) {
+            if (seat != defenderSeat)
+                draw(players[playerOrder[seat]].hand);
+            if (nextActive(seat) == attackerSeat)
+                break;
+        }
+        draw(players[playerOrder[defenderSeat]].hand);
+    }
+
+    private void draw(Hand hand) {
+        int missing = DurakRules.HAND_SIZE - hand.size();
+        if (missing > 0)
+            deck.deal(missing, hand);
+    }
+
+    // Once the draw pile is empty, players without cards are out of the game.
+    private void leaveIfOut() {
+        if (!deck.isEmpty())
+            return;
+        for (int seat = 0; seat < players.length; seat++) {
+            if (active[seat] && players[playerOrder[seat]].hand.size() == 0) {
+                active[seat] = false;
+                activeCount--;
+            }
+        }
+    }
+
+    // The next seat after `seat` which is still in the game.
+    private int nextActive(int seat) {
+        int next = seat;
+        do {
+            next = (next + 1) % players.length;
+        } while (!active[next] && next != seat);
+        return next;
+    }
+
+    // Reports an exception thrown by one of a player's methods as the player
+    // breaking the rules, so that it abandons only the game in progress.
+    private static DurakRuleViolationException thrown(DurakPlayer player, String decision, RuntimeException e) {
+        return new DurakRuleViolationException(
+            player.playerID,
+            "Player " + player + " threw an exception while " + decision + ": " + e,
+            e
+        );
+    }
+
+    // Function to end the game in progress when something has gone unrecoverably wrong.
+    // Only this game is abandoned; the caller decides whether to report it and play on.
+    public void majorInfraction(DurakPlayer infractor, String infractionDescription) throws DurakRuleViolationException {
+        throw new DurakRuleViolationException(
+            infractor.playerID,
+            "Player " + infractor + " failed to abide by the rules: " + infractionDescription
+        );
+    }
+
+}
@@ -0,0 +1,74 @@
+package cardsim.games.durak;
+
+import cardsim.basics.*;
+import java.util.*;
+
+
+// A player is built once and may then play many games. Before each game after
+// its first the engine empties its hand and offers it reset(); a player which
+// accepts keeps whatever it built once, and the engine closes it when it is done
+// with it. Players which decline are built anew each game.
+public abstract class DurakPlayer implements AutoCloseable {
+
+    // The player's hand.
+    // It is public, but no player will be able
+    // to gain a reference to another's hand.
+    public final Hand hand;
+
+    // The display name which will be printed after simulations.
+    public final String displayName;
+
+    // An ID which identifies a player uniquely in a given simulation.
+    public final long playerID;
+
+    public DurakPlayer(Hand hand, String displayName, long playerID) {
+        this.hand = hand;
+        this.displayName = displayName;
+        this.playerID = playerID;
+    }
+
+    @Override
+    public final String toString() {
+        return (displayName + " (" + Long.toString(playerID) + ")");
+    }
+
+
+    // Called before each game after the first, with the hand emptied, to play the
+    // next game from `random`, the stream it would have been built with for that game.
+    // Return true once the player has forgotten the last game, so that it plays
+    // exactly as a newly built player would; by default players return false,
+    // and are closed and built anew.
+    public boolean reset(SplittableRandom random) {
+        return false;
+    }
+
+    // Called when the engine is done with the player, to release what it holds.
+    // By default it does nothing.
+    @Override
+    public void close() { }
+
+
+    // Called at the start of each game, after the deal, with the card turned up
+    // at the bottom of the draw pile, whose suit is trumps, and the playerIDs in
+    // order of play. By default it does nothing.
+    public void gameStarted(Card trumpCard, List<Long> playerOrder) { }
+
+    // Called when you are required to lead a bout: schedule (with hand.play)
+    // one or more cards of a single rank, no more than bout.limit().
+    public abstract void attack(DurakBout bout);
+
+    // Called when you may add cards to a bout you are not defending:
+    // schedule cards of ranks already on the table (those in `legalMoves`),
+    // no more than `room` of them, or none to pass.
+    public abstract void throwIn(DurakBout bout, long legalMoves, int room);
+
+    // Called when you are defending and some attacking cards are unbeaten:
+    // schedule, in order, one card beating each of them (see DurakRules.beats),
+    // or none to take every card on the table.
+    public abstract void defend(DurakBout bout);
+
+    // Called to notify the player of the end of a bout,
+    // and whether the defender took the cards.
+    public void boutEnded(DurakBout bout, boolean taken) { }
+
+}
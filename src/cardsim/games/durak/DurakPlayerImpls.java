@@ -0,0 +1,24 @@
+package cardsim.games.durak;
+
+import cardsim.basics.*;
+import cardsim.games.durak.players.*;
+import java.util.SplittableRandom;
+
+
+// This class links together the implementations of durak players
+// and the DurakGame class itself, by enumerating the players which have
+// been made and providing a constructor for each of them.
+public enum DurakPlayerImpls {
+    Random {
+        @Override
+        public DurakPlayer get(Hand hand, long playerID, SplittableRandom random) {
+            return new RandomDurakPlayer(hand, "Random", playerID, random);
+        }
+    };
+
+    // Creates a DurakPlayer of a type decided by each individual enum member.
+    // The player is given its own random stream, split from the game's,
+    // and should draw all of its randomness from it so that games replay exactly.
+    public abstract DurakPlayer get(Hand hand, long playerID, SplittableRandom random);
+
+}
@@ -0,0 +1,20 @@
+package cardsim.games.durak;
+
+import cardsim.games.*;
+
+
+public class DurakRuleViolationException extends RuleViolationException {
+    private static final long serialVersionUID = 1L;
+
+    public DurakRuleViolationException(long playerID, String message) {
+        super(playerID, message);
+    }
+
+    public DurakRuleViolationException(long playerID, String message, Throwable cause) {
+        super(playerID, message, cause);
+    }
+
+    public DurakRuleViolationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,40 @@
+package cardsim.games.durak;
+
+import cardsim.basics.*;
+import java.util.*;
+
+
+// The rules deciding which cards beat which in Durak, for the engine and for players.
+//
+// A card is beaten by any higher card of its own suit and, unless it is a trump
+// itself, by any trump. Both are masks (see CardMask), so which cards of a hand
+// could beat an attack is one AND, and nothing is allocated.
+public final class DurakRules {
+
+    // The ranks Durak is played with, and the size of a full hand
+    public static final EnumSet<Rank> RANKS = EnumSet.range(Rank.SIX, Rank.ACE);
+    public static final int HAND_SIZE = 6;
+
+    // The most cards a defender can be attacked with in one bout
+    public static final int MAX_ATTACKS = 6;
+
+    // The most players one deck can be dealt to
+    public static final int MAX_PLAYERS = 6;
+
+    private DurakRules() { }
+
+    // Returns the mask of every card which beats `attack` when `trump` is trumps.
+    public static long beaters(Card attack, Suit trump) {
+        // The bits above the card's own, within its suit
+        long beaters = CardMask.suit(attack.suit) & -(CardMask.bit(attack) << 1) & ~CardMask.LOW_ACES;
+        if (attack.suit != trump)
+            beaters |= CardMask.suit(trump) & ~CardMask.LOW_ACES;
+        return beaters;
+    }
+
+    // Returns whether `defence` beats `attack` when `trump` is trumps.
+    public static boolean beats(Card defence, Card attack, Suit trump) {
+        return (beaters(attack, trump) & CardMask.bit(defence)) != 0;
+    }
+
+}
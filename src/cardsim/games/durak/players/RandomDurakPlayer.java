@@ -0,0 +1,68 @@
+package cardsim.games.durak.players;
+
+import cardsim.basics.*;
+import cardsim.games.durak.*;
+import java.util.*;
+
+
+public final class RandomDurakPlayer extends DurakPlayer {
+
+    private SplittableRandom random;
+
+    public RandomDurakPlayer(Hand hand, String displayName, long playerID, SplittableRandom random) {
+        super(hand, displayName, playerID);
+        this.random = random;
+    }
+
+    // Nothing but the random stream carries over from one game to the next.
+    @Override
+    public boolean reset(SplittableRandom random) {
+        this.random = random;
+        return true;
+    }
+
+    // Leads a random card, along with each other card of its rank
+    // by the toss of a coin, as far as the limit allows.
+    public void attack(DurakBout bout) {
+
+        long cards = hand.mask();
+        Card lead = CardMask.nth(cards, random.nextInt(CardMask.count(cards)));
+        hand.play(lead);
+
+        long others = hand.rankMask(lead.rank);
+        for (int played = 1; others != 0 && played < bout.limit(); others &= (others - 1)) {
+            if (random.nextBoolean()) {
+                hand.play(CardMask.first(others));
+                played++;
+            }
+        }
+
+    }
+
+    // Throws in one random card which may be thrown in, half of the time.
+    public void throwIn(DurakBout bout, long legalMoves, int room) {
+
+        if (room > 0 && legalMoves != 0 && random.nextBoolean())
+            hand.play(CardMask.nth(legalMoves, random.nextInt(CardMask.count(legalMoves))));
+
+    }
+
+    // Beats each unbeaten card with a random card which beats it,
+    // or takes the cards if some card cannot be beaten that way.
+    public void defend(DurakBout bout) {
+
+        long available = hand.mask();
+        for (int i = bout.defended(); i < bout.size(); i++) {
+            long beaters = available & DurakRules.beaters(bout.attack(i), bout.trump());
+            if (beaters == 0) {
+                hand.unplayAll();
+                return;
+            }
+            Card defence = CardMask.nth(beaters, random.nextInt(CardMask.count(beaters)));
+            hand.play(defence);
+            available &= ~CardMask.bit(defence);
+        }
+
+    }
+
+}
@@ -0,0 +1,152 @@
+package cardsim.games.spades;
+
+import cardsim.basics.*;
+import cardsim.games.*;
+import java.util.*;
+
+
+// Plays each deal of Spades once for every seating of the implementations,
+// so that each implementation plays every hand of the deal.
+//
+// Most of the spread in a player's score comes from the cards they are dealt.
+// When every implementation plays the same hands, that luck is shared out evenly
+// and mostly cancels in the difference between their totals, so far fewer deals are
+// needed to tell two implementations apart (see SequentialComparison, which
+// takes the difference of each duplicate deal as one paired result).
+//
+// The deck is shuffled once per deal, and each seating hands the same hands
+// round the table, each with its place in the order of play and the random
+// stream its player draws from; only who holds it changes.
+//
+// A duplicate deal counts as one game: its points are the sums over every
+// seating, and a player breaking the rules in any seating abandons all of it.
+// Every seating of a deal is played back to back on the same SpadesGame, and so
+// on the same thread. Listeners added to that game see each seating as a game,
+// started from the seed of the deal.
+public final class DuplicateSpadesGame implements SimulatableGame<SpadesPlayerImpls> {
+
+    // The most players whose every seating can be played, 8! = 40320 of them
+    public static final int MAX_PERMUTED = 8;
+
+    // The game every seating is played on
+    private final SpadesGame game;
+
+    // The seatings each deal is played under (see SpadesGame.playBoard)
+    private final int[][] seatings;
+
+    // The cards of the deal in progress, hand after hand
+    private final Card[] board;
+
+    // The points of the seating in progress
+    private final long[] seatingPoints;
+
+    // Plays each deal once per rotation of the hands around the table,
+    // which gives each implementation each hand once.
+    public DuplicateSpadesGame(SpadesPlayerImpls... playerImpls) {
+        this(false, playerImpls);
+    }
+
+    // Plays each deal once per rotation of the hands around the table or,
+    // with `permutations`, once per way of handing them out. Permutations also
+    // vary which implementations sit next to which, at the cost of n! seatings,
+    // so they are limited to MAX_PERMUTED players.
+    public DuplicateSpadesGame(boolean permutations, SpadesPlayerImpls... playerImpls) {
+        this(new SpadesGame(playerImpls), permutations);
+    }
+
+    // Plays each deal on the given game, which may carry listeners or a decision budget.
+    public DuplicateSpadesGame(SpadesGame game, boolean permutations) {
+        this.game = game;
+        int n = game.playerCount();
+        if (permutations && n > MAX_PERMUTED)
+            throw new IllegalArgumentException("Every seating of " + n + " players is too many; at most " + MAX_PERMUTED + " can be permuted.");
+        this.seatings = permutations ? permutations(n) : rotations(n);
+        this.seatingPoints = new long[n];
+        this.board = new Card[n * game.handSize()];
+    }
+
+    // Returns the game every seating is played on.
+    public SpadesGame getGame() {
+        return game;
+    }
+
+    // Returns the number of seatings each deal is played under.
+    public int seatings() {
+        return seatings.length;
+    }
+
+    public int playerCount() {
+        return game.playerCount();
+    }
+
+    public SpadesPlayerImpls implementation(long playerID) {
+        return game.implementation(playerID);
+    }
+
+    public Map<Long, Long> game(long seed) throws SpadesRuleViolationException {
+        long[] points = new long[playerCount()];
+        game(seed, points);
+        Map<Long, Long> finalScore = new HashMap<>(points.length);
+        for (int playerID = 0; playerID < points.length; playerID++)
+            finalScore.put((long)playerID, points[playerID]);
+        return finalScore;
+    }
+
+    // Plays the deal of the given seed under every seating,
+    // writing each player's total over them into `points`.
+    @Override
+    public void game(long seed, long[] points) throws SpadesRuleViolationException {
+        Arrays.fill(points, 0, playerCount(), 0);
+        long streamSeed = game.shuffleBoard(seed, board);
+        for (int[] seating : seatings) {
+            game.playBoard(seed, streamSeed, board, seating, seatingPoints);
+            for (int id = 0; id < seatingPoints.length; id++)
+                points[id] += seatingPoints[id];
+        }
+    }
+
+    @Override
+    public void close() {
+        game.close();
+    }
+
+    // The n rotations of the identity seating.
+    private static int[][] rotations(int n) {
+        int[][] rotations = new int[n][n];
+        for (int r = 0; r < n; r++)
+        for (int h = 0; h < n; h++)
+            rotations[r][h] = (h + r) % n;
+        return rotations;
+    }
+
+    // Every seating of n players, in lexicographic order.
+    private static int[][] permutations(int n) {
+        List<int[]> all = new ArrayList<>();
+        int[] seating = new int[n];
+        for (int h = 0; h < n; h++)
+            seating[h] = h;
+        do {
+            all.add(seating.clone());
+        } while (nextPermutation(seating));
+        return all.toArray(new int[0][]);
+    }
+
+    // Steps `a` to the next permutation in lexicographic order,
+    // returning false once it was the last.
+    private static boolean nextPermutation(int[] a) {
+        int i = a.length - 2;
+        while (i >= 0 && a[i] >= a[i + 1])
+            i--;
+        if (i < 0)
+            return false;
+        int j = a.length - 1;
+        while (a[j] <= a[i])
+            j--;
+        int swap = a[i]; a[i] = a[j]; a[j] = swap;
+        for (int l = i + 1, r = a.length - 1; l < r; l++, r--) {
+            swap = a[l]; a[l] = a[r]; a[r] = swap;
+        }
+        return true;
+    }
+
+}
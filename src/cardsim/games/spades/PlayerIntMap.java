@@ -0,0 +1,69 @@
+package cardsim.games.spades;
+
+import java.util.*;
+
+
+// A read-only Map<Long, Integer> over an int[] indexed by playerID.
+// Players are handed these in place of boxed maps, so that the engine
+// can keep its counts in plain arrays and lookups allocate nothing.
+final class PlayerIntMap extends AbstractMap<Long, Integer> {
+
+    private final int[] values;
+
+    private final Set<Map.Entry<Long, Integer>> entries = new AbstractSet<Map.Entry<Long, Integer>>() {
+        @Override
+        public Iterator<Map.Entry<Long, Integer>> iterator() {
+            return new Iterator<Map.Entry<Long, Integer>>() {
+                private int next = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return next < values.length;
+                }
+
+                @Override
+                public Map.Entry<Long, Integer> next() {
+                    if (next >= values.length)
+                        throw new NoSuchElementException();
+                    long id = next;
+                    return new AbstractMap.SimpleImmutableEntry<>(id, values[next++]);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+    };
+
+    PlayerIntMap(int[] values) {
+        this.values = values;
+    }
+
+    @Override
+    public Integer get(Object key) {
+        if (!containsKey(key))
+            return null;
+        return values[((Long)key).intValue()];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (!(key instanceof Long))
+            return false;
+        long id = (Long)key;
+        return (id >= 0 && id < values.length);
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public Set<Map.Entry<Long, Integer>> entrySet() {
+        return entries;
+    }
+
+}
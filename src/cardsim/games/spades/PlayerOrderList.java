@@ -0,0 +1,26 @@
+package cardsim.games.spades;
+
+import java.util.*;
+
+
+// A read-only List<Long> over an int[] of playerIDs, such as the order of play.
+// Like PlayerIntMap, it lets the engine hand players its own array without copying it.
+final class PlayerOrderList extends AbstractList<Long> implements RandomAccess {
+
+    private final int[] playerIDs;
+
+    PlayerOrderList(int[] playerIDs) {
+        this.playerIDs = playerIDs;
+    }
+
+    @Override
+    public Long get(int index) {
+        return (long)playerIDs[index];
+    }
+
+    @Override
+    public int size() {
+        return playerIDs.length;
+    }
+
+}
@@ -5,6 +5,10 @@ package cardsim.games.spades;
 // the bidding phase of Spades.
 public final class SpadesBid {
 
+    // The bid shown for a player who bid blind nil in a SpadesMatch,
+    // before seeing their cards. It is worth 0 tricks.
+    public static final int BLIND_NIL = -1;
+
     // The ID of the player who bid
     public final long playerID;
 
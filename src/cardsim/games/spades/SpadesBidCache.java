@@ -0,0 +1,116 @@
+package cardsim.games.spades;
+
+import java.util.concurrent.atomic.*;
+import java.util.function.LongToIntFunction;
+
+
+// A fixed-size cache of bids by SpadesHandKey, which may be shared by every
+// player and every thread of a run, so that a bidder works out each class of hand once.
+//
+// Each slot holds one key and its bid packed into a single long, so a lookup
+// is an atomic read or two and a store an atomic write or two, and nothing is
+// locked or allocated. Slots are paired, and a key may sit in either slot of
+// the pair its hash picks. A new key goes in the first slot and moves what was
+// there to the second, evicting the older of the two, so the cache never grows.
+// Two threads working out the same bid at once both store it, which is harmless,
+// and a race between stores at worst evicts an entry early.
+public final class SpadesBidCache {
+
+    // The default size of the cache, as a power of two
+    public static final int DEFAULT_BITS = 18;
+
+    // The greatest bid which can be stored
+    public static final int MAX_BID = (1 << 12) - 2;
+
+    // Keys (see SpadesHandKey) fit in the low 52 bits; a slot holds the key
+    // above 12 bits of bid + 1, so that an empty slot is 0.
+    private static final int BID_BITS = 12;
+    private static final long BID_MASK = (1L << BID_BITS) - 1;
+    private static final long KEY_LIMIT = 1L << (Long.SIZE - BID_BITS);
+
+    private final AtomicLongArray slots;
+    private final int mask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public SpadesBidCache(int bits) {
+        if (bits < 1 || bits > 28)
+            throw new IllegalArgumentException("A cache must have between 2^1 and 2^28 slots, got 2^" + bits + ".");
+        this.slots = new AtomicLongArray(1 << bits);
+        this.mask = (1 << bits) - 1;
+    }
+
+    public SpadesBidCache() {
+        this(DEFAULT_BITS);
+    }
+
+    // Returns the bid stored for a key, or -1 if there is none.
+    public int get(long key) {
+        int index = index(key);
+        long slot = slots.get(index);
+        if (slot == 0 || slot >>> BID_BITS != key)
+            slot = slots.get(index ^ 1);
+        if (slot != 0 && slot >>> BID_BITS == key) {
+            hits.increment();
+            return (int)(slot & BID_MASK) - 1;
+        }
+        misses.increment();
+        return -1;
+    }
+
+    // Stores the bid for a key, evicting the older entry of its pair of slots.
+    public void put(long key, int bid) {
+        if (key < 0 || key >= KEY_LIMIT)
+            throw new IllegalArgumentException("The key (" + key + ") is not a hand key.");
+        if (bid < 0 || bid > MAX_BID)
+            throw new IllegalArgumentException("Bids between 0 and " + MAX_BID + " can be stored, got (" + bid + ").");
+        int index = index(key);
+        long first = slots.get(index);
+        if (first != 0 && first >>> BID_BITS != key)
+            slots.set(index ^ 1, first);
+        slots.set(index, key << BID_BITS | (bid + 1));
+    }
+
+    // Returns the bid stored for a key, working it out
+    // with `estimate` and storing it if there is none.
+    public int bid(long key, LongToIntFunction estimate) {
+        int bid = get(key);
+        if (bid < 0) {
+            bid = estimate.applyAsInt(key);
+            put(key, bid);
+        }
+        return bid;
+    }
+
+    // The number of lookups which found a bid, and which did not.
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    // Returns the fraction of lookups which found a bid, or 0 before any lookup.
+    public double hitRate() {
+        long found = hits.sum();
+        long total = found + misses.sum();
+        return (total == 0) ? 0 : (double)found / total;
+    }
+
+    // Empties the cache and resets its counts.
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++)
+            slots.set(i, 0);
+        hits.reset();
+        misses.reset();
+    }
+
+    // Spreads the key's bits over the slot index.
+    private int index(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int)(h >>> 32) & mask;
+    }
+
+}
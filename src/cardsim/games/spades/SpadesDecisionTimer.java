@@ -0,0 +1,74 @@
+package cardsim.games.spades;
+
+import java.util.concurrent.*;
+
+
+// Runs player decisions on a worker thread and waits for each one
+// no longer than a fixed budget.
+//
+// When a decision runs out of time its thread is interrupted and abandoned,
+// and later decisions run on a fresh thread, so one stuck player cannot
+// stall the others. A player which ignores the interrupt may go on running
+// after its budget. It can no longer change its hand (see SpadesGuardedHand),
+// but nothing stops it changing the player's own fields, and it does so
+// while the player's later decisions run on the fresh thread, unsynchronized.
+//
+// SpadesGame replaces a player who ran out of time only before its next game,
+// and a SpadesMatch keeps its players for the whole match, so an abandoned
+// decision can go on racing the player for the rest of that game or match.
+// A player which keeps state between decisions and may run over its budget
+// should therefore stop promptly when interrupted, checking Thread.interrupted()
+// as it works, and leave its fields consistent when it does.
+final class SpadesDecisionTimer implements AutoCloseable {
+
+    // Worker threads never keep the simulation alive on their own.
+    private static final ThreadFactory daemonThreads = r -> {
+        Thread thread = new Thread(r, "spades-decision");
+        thread.setDaemon(true);
+        return thread;
+    };
+
+    // The time allowed for each decision
+    private final long budgetNanos;
+
+    // Runs the decisions; replaced whenever a decision is abandoned
+    private ExecutorService executor;
+
+    SpadesDecisionTimer(long budget, TimeUnit unit) {
+        this.budgetNanos = unit.toNanos(budget);
+        this.executor = Executors.newSingleThreadExecutor(daemonThreads);
+    }
+
+    // Runs a decision within the budget.
+    // Returns whether it finished in time; if it did not, it has been abandoned.
+    // Exceptions thrown by the decision are rethrown here.
+    boolean run(Runnable decision) {
+        Future<?> future = executor.submit(decision);
+        try {
+            future.get(budgetNanos, TimeUnit.NANOSECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            executor.shutdownNow();
+            executor = Executors.newSingleThreadExecutor(daemonThreads);
+            return false;
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for a player's decision.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException)cause;
+            if (cause instanceof Error)
+                throw (Error)cause;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+}
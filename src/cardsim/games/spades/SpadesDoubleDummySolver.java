@@ -0,0 +1,537 @@
+package cardsim.games.spades;
+
+import cardsim.basics.*;
+import java.util.*;
+
+
+// Works out how many tricks a player can take when every hand is visible
+// and every other player plays against them (the "double dummy" result).
+//
+// The search is alpha-beta over the cards, with hands as CardMasks. The most
+// tricks a player can take is found by a series of null-window searches, each
+// asking whether some number of tricks can be taken. Moves are tried winners
+// first, or cheapest first when the trick is already safe, and only one card
+// of each run of cards which no live card separates is tried, since they are
+// as good as each other.
+//
+// Positions at the start of each trick go into a fixed-size transposition
+// table, keyed by a Zobrist hash of who holds which cards, who leads and who
+// the search is for. Cards are keyed by their rank among the cards left in
+// their suit, so positions which differ only in which low cards are gone
+// are recognised as the same. Each bucket holds two entries: one kept for the position
+// with the most tricks left to play, and one always replaced by the newest.
+// The table is kept between solves, so solving the same deal for each player
+// in turn reuses much of the work.
+//
+// The search is for end positions. Its cost grows about tenfold with each
+// trick left, most of it spent on the player with the strongest hand, so it
+// suits the last tricks of a game or the leaves of a player's search. It does
+// not solve whole 13-trick deals fast enough to score them by the million.
+// SpadesDoubleDummySolverBenchmark measures it.
+//
+// Solving is single-deck only, and a solver is not safe to share between threads.
+public final class SpadesDoubleDummySolver {
+
+    // The default size of the table, as a power of two
+    public static final int DEFAULT_TABLE_BITS = 20;
+
+    // The most players a solver handles, and the most cards in a hand
+    private static final int MAX_PLAYERS = 8;
+    private static final int MAX_HAND = 13 * 4;
+
+    private static final Suit[] suits = Suit.values();
+
+    // Random keys for each seat holding the card of each relative rank
+    // in each suit, for each seat leading, and for each seat searched for
+    private static final long[][][] holds = new long[MAX_PLAYERS][suits.length][13];
+    private static final long[] leads = new long[MAX_PLAYERS];
+    private static final long[] targets = new long[MAX_PLAYERS];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5EED5EED5EEDL);
+        for (long[][] seat : holds)
+            for (long[] suit : seat)
+                for (int r = 0; r < suit.length; r++)
+                    suit[r] = random.nextLong();
+        for (int seat = 0; seat < MAX_PLAYERS; seat++) {
+            leads[seat] = random.nextLong();
+            targets[seat] = random.nextLong();
+        }
+    }
+
+    // The transposition table: keys, and bounds on the tricks left to the searched-for player.
+    // Bucket b holds entries 2b (kept for depth) and 2b + 1 (always replaced).
+    private final int tableMask;
+    private final long[] keys;
+    private final byte[] lower;
+    private final byte[] upper;
+    private final byte[] depth; // tricks left at the position
+    private final byte[] hint;  // the card which did best there, tried first next time
+
+    // The position being searched, by seat
+    private int players;
+    private int target;
+    private final long[] hands = new long[MAX_PLAYERS];
+    private int tricksLeft;
+    private int leader;
+    private int turn;
+    private Suit led;
+    private int bestSeat;
+    private int bestCard;
+    private int bestStrength;
+
+    // What each ply changed, so it can be undone
+    private final int[] savedLeader = new int[MAX_PLAYERS * MAX_HAND + 1];
+    private final Suit[] savedLed = new Suit[MAX_PLAYERS * MAX_HAND + 1];
+    private final int[] savedBestSeat = new int[MAX_PLAYERS * MAX_HAND + 1];
+    private final int[] savedBestCard = new int[MAX_PLAYERS * MAX_HAND + 1];
+    private final int[] savedBestStrength = new int[MAX_PLAYERS * MAX_HAND + 1];
+
+    // Move lists, one per ply
+    private final int[][] moves = new int[MAX_PLAYERS * MAX_HAND + 1][MAX_HAND];
+    private final int[][] order = new int[MAX_PLAYERS * MAX_HAND + 1][MAX_HAND];
+
+    private long nodes;
+
+    public SpadesDoubleDummySolver(int tableBits) {
+        if (tableBits < 1 || tableBits > 28)
+            throw new IllegalArgumentException("The table must have between 2^1 and 2^28 entries, got 2^" + tableBits + ".");
+        int size = 1 << tableBits;
+        this.tableMask = size - 1;
+        this.keys = new long[size];
+        this.lower = new byte[size];
+        this.upper = new byte[size];
+        this.depth = new byte[size];
+        this.hint = new byte[size];
+    }
+
+    public SpadesDoubleDummySolver() {
+        this(DEFAULT_TABLE_BITS);
+    }
+
+    // Forgets every position in the table.
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(depth, (byte)0);
+    }
+
+    // Returns the number of positions searched by the last solve.
+    public long nodes() {
+        return nodes;
+    }
+
+    // Returns the most of the remaining tricks, counting the one in progress,
+    // which `playerID` can take from the given state against all of the others.
+    public int solve(SpadesState state, int playerID) {
+        load(state, playerID);
+        nodes = 0;
+
+        // Climb with null-window searches until one fails. A lone player
+        // rarely takes many tricks against all the others, so the answer is
+        // usually low, and proving a trick can be taken is cheap beside
+        // proving it cannot.
+        int tricks = 0;
+        while (tricks < tricksLeft && search(tricks, tricks + 1, 0) > tricks)
+            tricks++;
+        return tricks;
+    }
+
+    // Returns the result of solve() for every player, indexed by playerID.
+    public int[] solve(SpadesState state) {
+        int[] tricks = new int[state.players];
+        long total = 0;
+        for (int id = 0; id < state.players; id++) {
+            tricks[id] = solve(state, id);
+            total += nodes;
+        }
+        nodes = total;
+        return tricks;
+    }
+
+    // Copies a state into the solver's own arrays, by seat.
+    private void load(SpadesState state, int playerID) {
+        players = state.players;
+        if (players > MAX_PLAYERS)
+            throw new IllegalArgumentException("At most " + MAX_PLAYERS + " players can be solved, got " + players + ".");
+        long seen = CardMask.EMPTY;
+        for (int seat = 0; seat < players; seat++) {
+            int id = state.player(seat);
+            long hand = state.hand(id);
+            if ((hand & (seen | CardMask.LOW_ACES)) != 0)
+                throw new IllegalArgumentException("Only a single deck without low aces can be solved.");
+            seen |= hand;
+            hands[seat] = hand;
+            if (id == playerID)
+                target = seat;
+            if (id == state.toMove())
+                leader = seat;
+        }
+        turn = state.turn();
+        leader = (leader - turn + players) % players;
+        tricksLeft = state.tricks - state.trick();
+        led = state.led();
+        Card winning = state.winningCard();
+        bestCard = (winning == null) ? -1 : winning.ordinal();
+        bestStrength = (winning == null) ? 0 : SpadesTrick.strength(winning, led);
+        bestSeat = -1;
+        for (int seat = 0; seat < players; seat++) {
+            if (state.player(seat) == state.winningSoFar())
+                bestSeat = seat;
+        }
+    }
+
+    // Returns the tricks the target takes from here, counting the one in progress,
+    // exactly if it lies between alpha and beta, and otherwise a bound past them.
+    private int search(int alpha, int beta, int ply) {
+        nodes++;
+
+        int index = -1;
+        long key = 0;
+        int first = -1;
+        int alphaFirst = alpha, betaFirst = beta;
+        if (turn == 0) {
+            if (tricksLeft == 0)
+                return 0;
+            if (tricksLeft <= alpha)
+                return tricksLeft;
+            if (beta <= 0)
+                return 0;
+
+            // Tricks the target is sure to win or lose bound the search.
+            int sure = sureTricks();
+            if (leader == target)
+                sure += quickTricks(target);
+            if (sure >= beta)
+                return Math.min(sure, tricksLeft);
+            int lost = sureLosses();
+            if (leader != target)
+                lost += quickTricks(leader);
+            int most = Math.min(tricksLeft - Math.min(lost, tricksLeft), potentialTricks());
+            if (most <= alpha)
+                return most;
+
+            key = key();
+            index = (int)key & tableMask & ~1;
+            for (int slot = index; slot <= index + 1; slot++) {
+                if (keys[slot] == key && depth[slot] != 0) {
+                    first = hint[slot];
+                    if (lower[slot] >= beta)
+                        return lower[slot];
+                    if (upper[slot] <= alpha)
+                        return upper[slot];
+                    alpha = Math.max(alpha, lower[slot]);
+                    beta = Math.min(beta, upper[slot]);
+                    if (alpha >= beta)
+                        return alpha;
+                    break;
+                }
+            }
+        }
+
+        int seat = (leader + turn) % players;
+        boolean maximizing = (seat == target);
+        int count = generate(seat, ply, first);
+        int[] list = moves[ply];
+
+        int best = maximizing ? -1 : Integer.MAX_VALUE;
+        int bestMove = list[0];
+        for (int i = 0; i < count; i++) {
+            int card = list[i];
+            int won = play(seat, card, ply);
+            int value = won + search(alpha - won, beta - won, ply + 1);
+            unplay(seat, card, ply);
+
+            if (maximizing ? value > best : value < best) {
+                best = value;
+                bestMove = card;
+            }
+            if (maximizing)
+                alpha = Math.max(alpha, best);
+            else
+                beta = Math.min(beta, best);
+            if (alpha >= beta)
+                break;
+        }
+
+        if (index >= 0)
+            store(index, key, best, bestMove, alphaFirst, betaFirst);
+        return best;
+    }
+
+    // Returns the number of the target's spades above every other player's spades.
+    // Each of them wins the trick it is played to, since only another of them could beat it.
+    private int sureTricks() {
+        long spades = CardMask.suit(Suit.SPADES);
+        long theirs = 0;
+        for (int seat = 0; seat < players; seat++) {
+            if (seat != target)
+                theirs |= hands[seat] & spades;
+        }
+        long mine = hands[target] & spades;
+        if (theirs != 0)
+            mine &= -(Long.highestOneBit(theirs) << 1);
+        return Long.bitCount(mine);
+    }
+
+    // Returns a number of tricks the target must lose: the most spades any one
+    // other player holds above all of the target's. Whatever trick such a spade
+    // is played to, a spade at least as high wins it, and no player can play two
+    // cards to one trick.
+    private int sureLosses() {
+        long spades = CardMask.suit(Suit.SPADES);
+        long mine = hands[target] & spades;
+        long above = (mine == 0) ? spades : spades & -(Long.highestOneBit(mine) << 1);
+        int most = 0;
+        for (int seat = 0; seat < players; seat++) {
+            if (seat != target)
+                most = Math.max(most, Long.bitCount(hands[seat] & above));
+        }
+        return most;
+    }
+
+    // Returns the most tricks the target could possibly win: one per spade, and
+    // in every other suit one per card, less the most cards any one opponent holds
+    // above all of the target's in that suit. Such an opponent follows each trick
+    // led in the suit with one of those cards for as long as it has them, and
+    // a trick led in the suit can only be won by the target with a card of it.
+    private int potentialTricks() {
+        long mine = hands[target];
+        int tricks = Long.bitCount(mine & CardMask.suit(Suit.SPADES));
+        for (Suit suit : suits) {
+            if (suit == Suit.SPADES)
+                continue;
+            long cards = mine & CardMask.suit(suit);
+            if (cards == 0)
+                continue;
+            long above = CardMask.suit(suit) & -(Long.highestOneBit(cards) << 1);
+            int stoppers = 0;
+            for (int seat = 0; seat < players; seat++) {
+                if (seat != target)
+                    stoppers = Math.max(stoppers, Long.bitCount(hands[seat] & above));
+            }
+            tricks += Math.max(0, Long.bitCount(cards) - stoppers);
+        }
+        return tricks;
+    }
+
+    // Returns the tricks the seat on lead can take straight away by leading the
+    // top cards of the suits other than spades, as long as every other player who
+    // holds a spade has to follow suit. No spade is played to these tricks, so
+    // they are apart from those counted by sureTricks() and sureLosses(), and
+    // after each of them the seat still has the lead.
+    private int quickTricks(int seat) {
+        int tricks = 0;
+        long all = 0;
+        for (int s = 0; s < players; s++)
+            all |= hands[s];
+        for (Suit suit : suits) {
+            if (suit == Suit.SPADES)
+                continue;
+            long cards = all & CardMask.suit(suit);
+            long mine = hands[seat] & cards;
+            if (mine == 0)
+                continue;
+
+            // The run of this seat's cards from the top of the suit
+            int run = 0;
+            for (long top = Long.highestOneBit(cards); (top & mine) != 0; top = Long.highestOneBit(cards)) {
+                run++;
+                cards &= ~top;
+            }
+
+            // Limited by the cards held in the suit by anyone else who holds a spade
+            for (int other = 0; other < players; other++) {
+                if (other == seat)
+                    continue;
+                if ((hands[other] & CardMask.suit(Suit.SPADES)) != 0)
+                    run = Math.min(run, Long.bitCount(hands[other] & CardMask.suit(suit)));
+            }
+            tricks += run;
+        }
+        return tricks;
+    }
+
+    // Returns the strength of the best card the target could play to the current trick.
+    private int targetStrength() {
+        long hand = hands[target];
+        long following = hand & CardMask.suit(led);
+        long best = (following != 0) ? following : hand & CardMask.suit(Suit.SPADES);
+        return (best == 0) ? 0 : SpadesTrick.strength(63 - Long.numberOfLeadingZeros(best), led);
+    }
+
+    // Returns the key of the position at the start of a trick. Only the order of
+    // the cards left in a suit matters, not which cards have gone, so each card
+    // is keyed by its rank among those left, and positions which differ only by
+    // the cards already played share a key.
+    private long key() {
+        long key = leads[leader] ^ targets[target];
+        long all = 0;
+        for (int seat = 0; seat < players; seat++)
+            all |= hands[seat];
+        for (Suit s : suits) {
+            long live = all & CardMask.suit(s);
+            for (int seat = 0; seat < players; seat++) {
+                for (long m = hands[seat] & live; m != 0; m &= (m - 1)) {
+                    long below = (m & -m) - 1;
+                    key ^= holds[seat][s.ordinal()][Long.bitCount(live & below)];
+                }
+            }
+        }
+        return key;
+    }
+
+    // Records a bound for a position at the start of a trick.
+    private void store(int index, long key, int value, int move, int alpha, int beta) {
+        int slot;
+        if (keys[index] == key || depth[index] <= tricksLeft)
+            slot = index;       // the deeper entry, or this very position
+        else
+            slot = index + 1;   // always replaced
+
+        byte low = 0, high = (byte)tricksLeft;
+        if (keys[slot] == key && depth[slot] != 0) {
+            // Tighten what is already known.
+            low = lower[slot];
+            high = upper[slot];
+        }
+        if (value <= alpha)
+            high = (byte)Math.min(high, value);
+        else if (value >= beta)
+            low = (byte)Math.max(low, value);
+        else
+            low = high = (byte)value;
+
+        keys[slot] = key;
+        lower[slot] = low;
+        upper[slot] = high;
+        depth[slot] = (byte)tricksLeft;
+        hint[slot] = (byte)move;
+    }
+
+    // Plays a card from a seat's hand. Returns 1 if it finishes a trick which the target wins, else 0.
+    private int play(int seat, int card, int ply) {
+        savedLeader[ply] = leader;
+        savedLed[ply] = led;
+        savedBestSeat[ply] = bestSeat;
+        savedBestCard[ply] = bestCard;
+        savedBestStrength[ply] = bestStrength;
+
+        hands[seat] &= ~(1L << card);
+        if (turn == 0)
+            led = Card.of(card).suit;
+        int strength = SpadesTrick.strength(card, led);
+        if (strength > bestStrength) {
+            bestStrength = strength;
+            bestCard = card;
+            bestSeat = seat;
+        }
+        if (++turn < players)
+            return 0;
+
+        int won = (bestSeat == target) ? 1 : 0;
+        tricksLeft--;
+        leader = bestSeat;
+        turn = 0;
+        led = null;
+        bestSeat = -1;
+        bestCard = -1;
+        bestStrength = 0;
+        return won;
+    }
+
+    private void unplay(int seat, int card, int ply) {
+        if (turn == 0) {
+            tricksLeft++;
+            turn = players;
+        }
+        turn--;
+        leader = savedLeader[ply];
+        led = savedLed[ply];
+        bestSeat = savedBestSeat[ply];
+        bestCard = savedBestCard[ply];
+        bestStrength = savedBestStrength[ply];
+        hands[seat] |= (1L << card);
+    }
+
+    // Fills moves[ply] with the seat's legal cards, one of each equivalent run,
+    // in the order to try them, starting with `first` if it is one of them.
+    // Returns how many there are.
+    private int generate(int seat, int ply, int first) {
+        long hand = hands[seat];
+        long legal = hand;
+        if (led != null && (hand & CardMask.suit(led)) != 0)
+            legal = hand & CardMask.suit(led);
+
+        // The cards still in play, which can separate two of this seat's cards.
+        long live = 0;
+        for (int s = 0; s < players; s++)
+            live |= hands[s];
+        if (bestCard >= 0)
+            live |= (1L << bestCard);
+
+        int[] list = moves[ply];
+        int[] keys = order[ply];
+        int count = 0;
+        for (long m = legal; m != 0; m &= (m - 1)) {
+            int card = Long.numberOfTrailingZeros(m);
+
+            // Skip the card if the next live card above it in its suit is also this seat's.
+            long above = live & CardMask.suit(Card.of(card).suit) & -(2L << card);
+            if ((above & -above & hand) != 0)
+                continue;
+
+            list[count] = card;
+            keys[count] = (card == first) ? Integer.MIN_VALUE : orderKey(seat, card);
+            count++;
+        }
+
+        // Sort by key, smallest first; the lists are short.
+        for (int i = 1; i < count; i++) {
+            int card = list[i], key = keys[i];
+            int j = i - 1;
+            while (j >= 0 && keys[j] > key) {
+                list[j + 1] = list[j];
+                keys[j + 1] = keys[j];
+                j--;
+            }
+            list[j + 1] = card;
+            keys[j + 1] = key;
+        }
+        return count;
+    }
+
+    // Ranks a move for ordering, lower first.
+    //  - The target leads its highest cards first, and tries to win each trick
+    //    with its cheapest winning card, or else throws its cheapest card.
+    //  - The others lead their highest cards first, but not in a suit the target
+    //    could trump. While the target has yet to play they cover its best card
+    //    as cheaply as they can, and otherwise they try to take the trick from
+    //    the target cheaply, or throw their cheapest card.
+    private int orderKey(int seat, int card) {
+        Suit suit = Card.of(card).suit;
+        if (turn == 0) {
+            int key = -SpadesTrick.strength(card, suit);
+            if (seat != target && suit != Suit.SPADES
+                    && (hands[target] & CardMask.suit(suit)) == 0
+                    && (hands[target] & CardMask.suit(Suit.SPADES)) != 0)
+                key += 64;
+            return key;
+        }
+
+        int strength = SpadesTrick.strength(card, led);
+        boolean wins = strength > bestStrength;
+        if (seat != target && (target - leader + players) % players > turn) {
+            int threat = targetStrength();
+            if (bestStrength > threat)
+                return strength;                            // already covered
+            return (strength > threat) ? strength : 64 + strength;
+        }
+
+        boolean sameSide = (seat == target) == (bestSeat == target);
+        if (sameSide)
+            return (wins ? 64 : 0) + strength;
+        else
+            return (wins ? 0 : 64) + strength;
+    }
+
+}
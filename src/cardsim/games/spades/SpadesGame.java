@@ -1,16 +1,22 @@
 package cardsim.games.spades;
 
 import cardsim.basics.*;
+import cardsim.games.*;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 
-public final class SpadesGame /* implements SimulatableGame */ {
+public final class SpadesGame implements SimulatableGame<SpadesPlayerImpls> {
 
     // The primary deck of the game
     private final Deck deck;
 
-    // The players participating, accessible by their ID
-    private final Map<Long, SpadesPlayer> players;
+    // How many 52-card decks the primary deck is made of
+    private final int numberOfDecks;
+
+    // The players participating, indexed by their ID.
+    // They are kept from game to game (see seat), and are null until first needed.
+    private final SpadesPlayer[] players;
 
     // The list of player implementations to draw from
     private final List<SpadesPlayerImpls> playerImpls;
@@ -18,110 +24,443 @@ public final class SpadesGame /* implements SimulatableGame */ {
     // How many cards need to be dealt in a hand
     private final int handSize;
 
+    // The master generator from which each unseeded game draws its seed
+    private final SplittableRandom seeds;
+
+    // Enforces the time budget of each player decision, or null if there is none
+    private SpadesDecisionTimer timer;
+
+    // Observes every game played; NONE unless listeners are added
+    private SpadesGameListener listener = SpadesGameListener.NONE;
+
+    // The number of decisions each player ran out of time on, by playerID
+    private final long[] timeouts;
+
+    // Whether each player has run out of time since they were seated, by playerID
+    private final boolean[] timedOut;
+
+    // The state of the game in progress. It is all indexed by playerID
+    // and reused from game to game, so that a game allocates as little as possible.
+
+    // The playerIDs in order of play, starting with the first bidder
+    private final int[] playerOrder;
+    private final List<Long> playerOrderView;
+
+    // The number of tricks each player wants to get
+    private final int[] tricksGoal;
+
+    // The number of tricks each player has actually gotten
+    private final int[] tricksTaken;
+
+    // Read-only map views of the two arrays above, for the players
+    private final Map<Long, Integer> tricksGoalView;
+    private final Map<Long, Integer> tricksTakenView;
+
+    // The points each player earned in the last game
+    private final long[] points;
+
+    // The bids, tricks and cards in play, which decide who may play what and who
+    // wins each trick. Before each move the hand of the player to move is copied
+    // in from their Hand, which stays the record of what they hold. With several
+    // decks that copy only says which cards they hold at least one of, which is
+    // all the rules need; of identical cards, the first played wins.
+    private final SpadesState state;
+
+    // The bids and cards played so far, as shown to the players
+    private final List<SpadesBid> pastBids;
+    private final List<SpadesAction> pastPlays;
+
+    // Every bid and every play which can happen, made once so that
+    // they need not be allocated as they happen. Indexed by playerID,
+    // then by the bid or by the ordinal of the card played.
+    private final SpadesBid[][] bids;
+    private final SpadesAction[][] actions;
+
     public SpadesGame(SpadesPlayerImpls... playerImpls) {
-        this.deck = new Deck(Math.max(playerImpls.length / 4, 1));
-        this.players = new HashMap<>(playerImpls.length);
+        this(new SplittableRandom(), playerImpls);
+    }
+
+    public SpadesGame(long masterSeed, SpadesPlayerImpls... playerImpls) {
+        this(new SplittableRandom(masterSeed), playerImpls);
+    }
+
+    private SpadesGame(SplittableRandom seeds, SpadesPlayerImpls... playerImpls) {
+        this.seeds = seeds;
+        this.numberOfDecks = Math.max(playerImpls.length / 4, 1);
+        this.deck = new Deck(numberOfDecks);
+        this.players = new SpadesPlayer[playerImpls.length];
         this.playerImpls = Arrays.asList(playerImpls);
         this.handSize = deck.size() / playerImpls.length;
+        this.timeouts = new long[playerImpls.length];
+        this.timedOut = new boolean[playerImpls.length];
+
+        int n = playerImpls.length;
+        this.playerOrder = new int[n];
+        this.playerOrderView = new PlayerOrderList(playerOrder);
+        this.tricksGoal = new int[n];
+        this.tricksTaken = new int[n];
+        this.tricksGoalView = new PlayerIntMap(tricksGoal);
+        this.tricksTakenView = new PlayerIntMap(tricksTaken);
+        this.points = new long[n];
+        this.state = new SpadesState(playerOrder, handSize);
+        this.pastBids = new ArrayList<>(n);
+        this.pastPlays = new ArrayList<>(n);
+        this.bids = new SpadesBid[n][handSize + 1];
+        this.actions = new SpadesAction[n][Card.COUNT];
+        for (int id = 0; id < n; id++) {
+            for (int bid = 0; bid <= handSize; bid++)
+                bids[id][bid] = new SpadesBid(id, bid);
+            for (int ordinal = 0; ordinal < Card.COUNT; ordinal++)
+                actions[id][ordinal] = new SpadesAction(id, Card.of(ordinal));
+        }
+    }
+
+    // Limits every bid, card play and round notification to the given time.
+    // Decisions then run on a separate thread; a decision which runs out of time
+    // is abandoned, a legal default is used in its place, and the timeout is counted
+    // and reported to the listeners.
+    // A budget of zero or less removes the limit and calls players directly again.
+    // Either way the players are closed, and built anew for the next game.
+    public void setDecisionBudget(long budget, TimeUnit unit) {
+        stopTimer();
+        closePlayers();
+        timer = (budget > 0) ? new SpadesDecisionTimer(budget, unit) : null;
+    }
+
+    // Adds a listener to observe every game played from now on,
+    // after any listeners already added.
+    public void addListener(SpadesGameListener listener) {
+        this.listener = SpadesGameListener.both(this.listener, listener);
+    }
+
+    // Removes every listener.
+    public void removeListeners() {
+        this.listener = SpadesGameListener.NONE;
+    }
+
+    // Returns the number of decisions a player has run out of time on,
+    // over every game played by this instance.
+    public long getTimeouts(long playerID) {
+        return timeouts[(int)playerID];
+    }
+
+    // Stops the thread used to time decisions, if there is one,
+    // and closes every player. The next game builds them anew.
+    @Override
+    public void close() {
+        stopTimer();
+        closePlayers();
+    }
+
+    private void closePlayers() {
+        for (int playerID = 0; playerID < players.length; playerID++) {
+            if (players[playerID] != null) {
+                players[playerID].close();
+                players[playerID] = null;
+            }
+        }
+    }
+
+    private void stopTimer() {
+        if (timer != null) {
+            timer.close();
+            timer = null;
+        }
+    }
+
+    // The number of players seated in every game.
+    public int playerCount() {
+        return playerImpls.size();
+    }
+
+    // Players' IDs are their positions in the list of implementations.
+    public SpadesPlayerImpls implementation(long playerID) {
+        return playerImpls.get((int)playerID);
     }
 
     // Play a game of Spades.
     // Returns a mapping of playerID to points earned.
-    public Map<Long, Long> game() {
-        return game(false);
+    public Map<Long, Long> game() throws SpadesRuleViolationException {
+        return game(seeds.nextLong(), false);
     }
     
     // Play a game with a chosen verbosity level.
-    public Map<Long, Long> game(boolean verbose) {
+    public Map<Long, Long> game(boolean verbose) throws SpadesRuleViolationException {
+        return game(seeds.nextLong(), verbose);
+    }
+
+    // Play a game from a given seed.
+    // The same seed and players always produce the same game.
+    public Map<Long, Long> game(long seed) throws SpadesRuleViolationException {
+        return game(seed, false);
+    }
 
-        // Prepare deck and players map to be used
+    // Play a game from a given seed with a chosen verbosity level.
+    public Map<Long, Long> game(long seed, boolean verbose) throws SpadesRuleViolationException {
+        play(seed, verbose);
+        Map<Long, Long> finalScore = new HashMap<>(players.length);
+        for (int playerID = 0; playerID < players.length; playerID++)
+            finalScore.put((long)playerID, points[playerID]);
+        return finalScore;
+    }
+
+    // Play a game from a given seed, writing the points
+    // earned by each player into `points`, indexed by playerID.
+    // Unlike the other game functions, this builds no map of the results.
+    @Override
+    public void game(long seed, long[] points) throws SpadesRuleViolationException {
+        play(seed, false);
+        System.arraycopy(this.points, 0, points, 0, this.points.length);
+    }
+
+    // Plays a game, leaving each player's points in `points`.
+    // A verbose game is also described on standard output.
+    private void play(long seed, boolean verbose) throws SpadesRuleViolationException {
+        SpadesGameListener listener = verbose
+            ? SpadesGameListener.both(this.listener, SpadesPrintingListener.STDOUT)
+            : this.listener;
+        try {
+            play(seed, listener);
+        } catch (SpadesRuleViolationException | RuntimeException e) {
+            listener.gameAbandoned(e);
+            throw e;
+        }
+    }
+
+    private void play(long seed, SpadesGameListener listener) throws SpadesRuleViolationException {
+
+        final int n = players.length;
+
+        // Every random choice in this game, including those of the players,
+        // is drawn from this generator or from streams split off of it.
+        SplittableRandom random = new SplittableRandom(seed);
+
+        // Prepare deck and players to be used
         deck.reset();
-        deck.shuffle();
-        players.clear();
-        List<Long> playerOrder = new ArrayList<>(playerImpls.size());
+        deck.shuffle(random);
 
-        // Increments for each player created.
+        // Ready each player, with IDs given in order of implementation.
         // Presumably no more than (2^31)-1 players will exist.
-        long playerIDcounter = 0;
+        for (int playerID = 0; playerID < n; playerID++) {
 
-        // Initialize each player and add them to players map         
-        for (SpadesPlayerImpls spi : playerImpls) {
+            seat(playerID, random.split());
+            deck.deal(handSize, players[playerID].hand);
+            playerOrder[playerID] = playerID;
+
+        }
 
-            Hand hand = new OpenHand(deck.draw(handSize));
-            SpadesPlayer player = spi.get(hand, playerIDcounter);
-            players.put(playerIDcounter, player);
-            playerOrder.add(playerIDcounter);
-            
-            playerIDcounter++;
+        shuffleOrder(random);
+        playHand(seed, null, listener);
+        scoreHand(listener);
 
+    }
+
+    // Ensure order of play is random every game
+    private void shuffleOrder(SplittableRandom random) {
+        for (int i = playerOrder.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swapped = playerOrder[i];
+            playerOrder[i] = playerOrder[j];
+            playerOrder[j] = swapped;
         }
+    }
 
-        // Ensure order of play is random every game
-        Collections.shuffle(playerOrder);
+    // The methods below let a DuplicateSpadesGame play one deal under several
+    // seatings, shuffling it once and handing the same hands round each time.
 
+    // Shuffles the deal of `seed` into `board`, one hand of handSize() cards after
+    // another, and returns the seed of the rest of the deal's random choices.
+    long shuffleBoard(long seed, Card[] board) {
+        SplittableRandom random = new SplittableRandom(seed);
+        deck.reset();
+        deck.shuffle(random);
+        List<Card> cards = deck.getCards();
+        for (int i = 0; i < board.length; i++)
+            board[i] = cards.get(i);
+        return random.nextLong();
+    }
 
-        //
-        // Stage 1: Bidding
-        //
+    // Plays a board with the hands handed out by `seating`: hand `h`, along with
+    // its place in the order of play and its random stream, goes to playerID
+    // `seating[h]`, so every seating plays exactly the same deal. Listeners are
+    // told `seed`, the seed the board was shuffled from.
+    void playBoard(long seed, long streamSeed, Card[] board, int[] seating, long[] points) throws SpadesRuleViolationException {
+        try {
+            SplittableRandom random = new SplittableRandom(streamSeed);
+            for (int h = 0; h < seating.length; h++) {
+                int playerID = seating[h];
+                seat(playerID, random.split());
+                players[playerID].hand.addAll(board, h * handSize, handSize);
+                playerOrder[h] = playerID;
+            }
+            shuffleOrder(random);
+            playHand(seed, null, listener);
+            scoreHand(listener);
+        } catch (SpadesRuleViolationException | RuntimeException e) {
+            listener.gameAbandoned(e);
+            throw e;
+        }
+        System.arraycopy(this.points, 0, points, 0, this.points.length);
+    }
 
-        // The number of tricks each player wants to get
-        Map<Long, Integer> tricksGoal  = new HashMap<>(players.size());
-        // The number of tricks each player has actually gotten
-        Map<Long, Integer> tricksTaken = new HashMap<>(players.size()); 
-
-        {
-            List<SpadesBid> pastBids = new ArrayList<>(players.size());
-            
-            for (Long playerID : playerOrder) {
-                SpadesPlayer player = players.get(playerID);
-                int bid = player.getBid(pastBids);
-                if (verbose) {
-                    System.out.println(player + " bid " + bid + " tricks.");
+    // Readies a player for a new game with an empty hand and the given random stream.
+    // The player of the last game is reset if it allows it, and otherwise closed and
+    // replaced; so is a player who ran out of time, whose decision may still be running.
+    private void seat(int playerID, SplittableRandom random) throws SpadesRuleViolationException {
+        SpadesPlayer player = players[playerID];
+        try {
+            if (player != null) {
+                if (!timedOut[playerID]) {
+                    if (player.hand instanceof SpadesGuardedHand)
+                        ((SpadesGuardedHand)player.hand).reclaim();
+                    player.hand.clear();
+                    if (player.reset(random))
+                        return;
                 }
-                tricksGoal.put(playerID, bid);
-                tricksTaken.put(playerID, 0);
-                pastBids.add(new SpadesBid(playerID, bid));
+                players[playerID] = null;
+                player.close();
             }
+            players[playerID] = playerImpls.get(playerID).get(newHand(), playerID, random);
+            timedOut[playerID] = false;
+        } catch (RuntimeException e) {
+            throw new SpadesRuleViolationException(
+                playerID,
+                "Player " + playerImpls.get(playerID) + " (" + playerID + ") threw an exception while being seated: " + e,
+                e
+            );
         }
+    }
+
+    // A single deck never deals duplicate cards, so the hand can be a bitmask;
+    // with several it counts the copies of each card.
+    // While decisions are timed, the hand is guarded from abandoned decisions.
+    private Hand newHand() {
+        Hand hand = (numberOfDecks == 1)
+            ? new BitHand()
+            : new MultiHand();
+        return (timer != null) ? new SpadesGuardedHand(hand) : hand;
+    }
+
+    // The methods below let a SpadesMatch play hand after hand with the same
+    // players, hands and deck, sharing this game's budget and listeners.
+
+    // Readies every player with an empty hand, drawing their random streams from `random`.
+    void seatPlayers(SplittableRandom random) throws SpadesRuleViolationException {
+        for (int playerID = 0; playerID < players.length; playerID++)
+            seat(playerID, random.split());
+    }
+
+    // Shuffles the deck and deals a hand to each seated player, in the given order
+    // of play, which the next hand follows. Every hand must be empty.
+    void deal(SplittableRandom random, int[] order) {
+        deck.reset();
+        deck.shuffle(random);
+        for (int turn = 0; turn < players.length; turn++) {
+            playerOrder[turn] = order[turn];
+            deck.deal(handSize, players[order[turn]].hand);
+        }
+    }
+
+    SpadesPlayer player(int playerID) {
+        return players[playerID];
+    }
+
+    // The bids and tricks taken in the hand last played.
+    SpadesState state() {
+        return state;
+    }
+
+    int handSize() {
+        return handSize;
+    }
+
+    SpadesGameListener listener() {
+        return listener;
+    }
+
+    // Asks a player before the deal whether they bid blind nil,
+    // within the time budget if there is one. A player who runs out of time does not.
+    boolean requestBlindNil(SpadesPlayer player, long score, long leadingScore, SpadesGameListener listener) throws SpadesRuleViolationException {
+        try {
+            if (timer == null)
+                return player.bidBlindNil(score, leadingScore);
+
+            boolean[] blind = new boolean[1];
+            if (!decide(player, () -> blind[0] = player.bidBlindNil(score, leadingScore))) {
+                recordTimeout(player, "deciding on blind nil", "They bid as usual.", listener);
+                return false;
+            }
+            return blind[0];
+        } catch (RuntimeException e) {
+            throw thrown(player, "deciding on blind nil", e);
+        }
+    }
+
+    // Plays one hand between the seated players, in the order of play already
+    // in playerOrder: the bidding, then every trick, leaving the bids and tricks
+    // taken in `state`. Players marked in `blindNil` (by playerID, or null for
+    // none) bid blind nil before the deal, and are not asked to bid again.
+    void playHand(long seed, boolean[] blindNil, SpadesGameListener listener) throws SpadesRuleViolationException {
+
+        final int n = players.length;
+
+        state.reset(playerOrder);
+
+        listener.gameStarted(seed, playerOrder, handSize);
+
+        // Tell each player where everyone sits.
+        for (int turn = 0; turn < n; turn++)
+            notifyStart(players[playerOrder[turn]], listener);
 
 
         //
-        // Stage 2: Main game
+        // Stage 1: Bidding
         //
 
+        pastBids.clear();
+
+        for (int turn = 0; turn < n; turn++) {
+            int playerID = playerOrder[turn];
+            SpadesPlayer player = players[playerID];
+            boolean blind = blindNil != null && blindNil[playerID];
+            int bid = blind ? 0 : requestBid(player, pastBids, listener);
+            listener.bidPlaced(player, bid);
+            tricksGoal[playerID] = bid;
+            tricksTaken[playerID] = 0;
+            state.setBid(playerID, bid);
+            if (blind)
+                pastBids.add(new SpadesBid(playerID, SpadesBid.BLIND_NIL));
+            else
+                pastBids.add((bid >= 0 && bid <= handSize) ? bids[playerID][bid] : new SpadesBid(playerID, bid));
+        }
 
-        List<SpadesAction> pastPlays = new ArrayList<>(players.size());
-        List<Long> thisTurnOrder;
-        Card bestCardSoFar;
-        Suit beginningSuit;
-        Long bestPlayerSoFar;
+
+        //
+        // Stage 2: Main game
+        //
 
         // Gameplay repeats once for each card in players' initial hands
         for (int round = 0; round < handSize; round++) {
 
             pastPlays.clear();
-            thisTurnOrder = new ArrayList<>(playerOrder);
-            bestCardSoFar = null;
-            bestPlayerSoFar = null;
-            beginningSuit = null;
 
-            if (verbose)
-                System.out.println("-- Trick " + (round + 1) + " --");
+            listener.trickStarted(round);
 
             // This loop runs through the players and asks them to play
-            for (long playerID : thisTurnOrder) {
+            for (int turn = 0; turn < n; turn++) {
+
+                int playerID = state.toMove();
 
                 // Get the object representing the next player to play.
-                SpadesPlayer player = players.get(playerID);
+                SpadesPlayer player = players[playerID];
                 
-                // Ask the player to play based on past plays and other info.
-                player.playCard(pastPlays, tricksGoal, tricksTaken);
-                // Retrieve the player's hand with info on what they played.
+                // Retrieve the player's hand, and work out once which of its cards may be played.
                 Hand hand = player.hand;
+                state.setHand(playerID, hand.mask());
+                long legalMoves = state.legalMoves();
 
-                // This card will be initialized unless
-                // the error scenario below happens, in which case the program ends anyway.
-                Card playedCard = null;
+                // Ask the player to play based on past plays and other info.
+                requestCard(player, pastPlays, tricksGoalView, tricksTakenView, legalMoves, listener);
 
                 // If the player didn't play enough cards or played too many, it is an unrecoverable scenario.
                 if (hand.scheduledSize() != 1) {
@@ -129,154 +468,206 @@ public final class SpadesGame /* implements SimulatableGame */ {
                         player, 
                         "(1) card was expected to be played, instead got (" + hand.scheduledSize() + ")."
                     );
-                // Or we just have the normal case when they play one card as intended.
-                } else {
-                    playedCard = hand.accept();
+                }
+                // Otherwise we just have the normal case when they play one card as intended.
+                Card playedCard = hand.accept();
+
+                // The player must have followed suit if they could.
+                if ((legalMoves & CardMask.bit(playedCard)) == 0) {
+                    majorInfraction(
+                        player,
+                        "The suit (" + state.led() + ") was expected, instead got (" + playedCard.suit + ") although the correct suit was available."
+                    );
                 }
 
 
                 // Add the playedCard and playerID to the pastPlays list
                 // so that future players will know that it's been played.
-                pastPlays.add(new SpadesAction(playerID, playedCard));
-
-                // Determine whether the new card is better than those already played,
-                // or if it is the first, store information such as its suit for later comparisons.
-                if (bestCardSoFar == null) {
-                    if (verbose)
-                        System.out.println(player + " began the round playing [" + playedCard + "]");
-                    bestCardSoFar = playedCard;
-                    bestPlayerSoFar = playerID;
-                    beginningSuit = playedCard.suit;
-                // If it wasn't the first card, see whether it's better than the previous best one.
-                } else {
-                    
-                    // First we have to make sure the player followed the rules.
-                    // If the suit doesn't match, they must not have had any cards of the correct suit.
-                    if (playedCard.suit != beginningSuit) {
-                        // Either the player broke the rules and played another suit for no good reason
-                        if (!hand.filterBySuit(beginningSuit).isEmpty()) {
-                            majorInfraction(
-                                player,
-                                "The suit (" + beginningSuit + ") was expected, instead got (" + playedCard.suit + ") although the correct suit was available."
-                            );
-                        // Or the player really didn't have a card of the right suit.
-                        } else {
-                            if (verbose)
-                                System.out.println("In response, " + player + " played [" + playedCard + "]");
-                            // In that case, see if it's a spade, and if the past card was too.
-                            // Either way, if the played card isn't a spade it will lose.
-                            if (playedCard.suit == Suit.SPADES) {
-                                // If the newly played card wins in a spade battle, update the best card so far and reorder
-                                // the turn so that the new winner will go first in the next round.
-                                if ((bestCardSoFar.suit != Suit.SPADES) || // Either the spade wins against non-spade by default
-                                    (bestCardSoFar.suit == Suit.SPADES && playedCard.rank.compareTo(bestCardSoFar.rank) > 0)) { // Or it is decided by rank
-                                    if (verbose)
-                                        System.out.println("    ... It's the new best card!");
-                                    bestCardSoFar = playedCard;
-                                    bestPlayerSoFar = playerID;
-                                }
-                            }
-                        }
-                    // Or, in the normal case, the player DID play a card of the beginning suit.
-                    } else {
-                        if (verbose)
-                            System.out.println("In response, " + player + " played [" + playedCard + "]");
-                        // In which case we just compare similarly to above.
-                        // First we consider that the suit for the round might be spades anyway.
-                        if (beginningSuit == Suit.SPADES) {
-                            // In this case, the best card HAS to be spades, so we just compare ranks.
-                            if (playedCard.rank.compareTo(bestCardSoFar.rank) > 0) { // check for victory
-                                if (verbose)
-                                    System.out.println("    ... It's the new best card!");
-                                bestCardSoFar = playedCard;
-                                bestPlayerSoFar = playerID;
-                            }
-                        // Otherwise the beginning suit isn't spades.
-                        } else {
-                            // If the beginning suit wasn't spades, the winning card still might be,
-                            // in which case the new card loses. If it isn't, though, there's a chance!
-                            if (!(bestCardSoFar.suit == Suit.SPADES)) {
-                                if (playedCard.rank.compareTo(bestCardSoFar.rank) > 0) { // check for victory
-                                    if (verbose)
-                                        System.out.println("    ... It's the new best card!");
-                                    bestCardSoFar = playedCard;
-                                    bestPlayerSoFar = playerID;
-                                }
-                            }
-                        }
-                    }
-                }
-
-            }
+                pastPlays.add(actions[playerID][playedCard.ordinal()]);
 
+                // The new card is better than those already played only if it is strictly stronger,
+                // by rank or as a spade; the first card is stronger than nothing at all.
+                boolean newBest = state.takesLead(playedCard.ordinal());
+                state.makeMove(playedCard.ordinal());
 
+                listener.cardPlayed(player, playedCard, round, turn, newBest);
 
-            if (verbose) {
-                System.out.println(players.get(bestPlayerSoFar) + " won the trick!");
-                System.out.println();
             }
 
-            // Notify each player of the winner of the round.
-            for (long playerID : thisTurnOrder)
-                players.get(playerID).roundResults(pastPlays, bestPlayerSoFar);
+            // The winner of the trick now leads the next one.
+            int winner = state.leader();
 
-            // Increment the number of tricks taken for the player who won.
-            tricksTaken.put(bestPlayerSoFar, tricksTaken.get(bestPlayerSoFar) + 1);
+            listener.trickWon(players[winner], round);
 
-            // Rotate the player order so the winner goes first next round.
-            Collections.rotate(playerOrder, -(playerOrder.indexOf(bestPlayerSoFar)));
+            // Notify each player of the winner of the round, in the order they played.
+            for (int turn = 0; turn < n; turn++)
+                notifyResults(players[(int)pastPlays.get(turn).playerID], pastPlays, winner, listener);
+
+            tricksTaken[winner] = state.taken(winner);
 
         }
 
+    }
+
+    // Scores the hand last played for each player on their own, into `points`.
+    void scoreHand(SpadesGameListener listener) {
+
+        final int n = players.length;
+
         // Now all the rounds have been played, and the results are in. (In theory).
 
         //
         // Stage 3: Score calculation
         //
 
-        // Prepare the mapping of points as the return value of this function.
-        Map<Long, Long> finalScore = new HashMap<>(players.size());
+        // Iterate through the players in order of ID and check each of their performances
+        for (int playerID = 0; playerID < n; playerID++) {
 
+            int goalTricks = state.bid(playerID);
+            int wonTricks  = state.taken(playerID);
 
-        // Sort the order so we can print them in order of ID
-        if (verbose)
-            Collections.sort(playerOrder);
+            // Nothing for falling short, and 10 points per trick bid, less 10 for each over.
+            long actualScore = state.score(playerID);
 
-        // Iterate through the players and check each of their performances
-        for (long playerID : playerOrder) {
+            listener.handScored(players[playerID], wonTricks, goalTricks, actualScore);
 
-            int goalTricks = tricksGoal.get(playerID);
-            int wonTricks  = tricksTaken.get(playerID);
+            points[playerID] = actualScore;
+        }
+
+        listener.gameEnded(points);
 
-            long actualScore;
-            // If the player won fewer tricks than they bet,
-            if (wonTricks < goalTricks) {
-                actualScore = 0; // They win nothing at all.
-            // But if they met or exceeded their goal,
-            } else {
-                // They get 10 points per trick, and -10 for each over their bet.
-                actualScore = Math.max(0, 10*(2*goalTricks - wonTricks));
+    }
+
+    // Asks a player for their bid, within the time budget if there is one.
+    // A player who runs out of time bids zero.
+    private int requestBid(SpadesPlayer player, List<SpadesBid> pastBids, SpadesGameListener listener) throws SpadesRuleViolationException {
+        try {
+            if (timer == null)
+                return player.getBid(pastBids);
+
+            int[] bid = new int[1];
+            if (!decide(player, () -> bid[0] = player.getBid(pastBids))) {
+                recordTimeout(player, "bidding", "A bid of (0) was made in their place.", listener);
+                return 0;
+            }
+            return bid[0];
+        } catch (RuntimeException e) {
+            throw thrown(player, "bidding", e);
+        }
+    }
+
+    // Asks a player to play a card, within the time budget if there is one.
+    // A player who runs out of time plays their legal card of the lowest rank.
+    private void requestCard(SpadesPlayer player,
+                             List<SpadesAction> pastPlays,
+                             Map<Long, Integer> tricksGoal,
+                             Map<Long, Integer> tricksTaken,
+                             long legalMoves,
+                             SpadesGameListener listener) throws SpadesRuleViolationException {
+        try {
+            if (timer == null) {
+                player.playCard(pastPlays, tricksGoal, tricksTaken, legalMoves);
+                return;
             }
 
-            if (verbose)
-                System.out.println(players.get(playerID) + " won " + wonTricks + "/" + goalTricks + " predicted tricks, receiving " + actualScore + " points.");
-            
-            finalScore.put(playerID, actualScore);
+            if (!decide(player, () -> player.playCard(pastPlays, tricksGoal, tricksTaken, legalMoves))) {
+                Hand hand = player.hand;
+                hand.unplayAll();
+                Card fallback = lowestRank(legalMoves);
+                hand.play(fallback);
+                recordTimeout(player, "playing a card", "The card [" + fallback + "] was played in their place.", listener);
+            }
+        } catch (RuntimeException e) {
+            throw thrown(player, "playing a card", e);
         }
+    }
 
-        // And lastly, report the results!
-        // Let's hope this works!
-        return finalScore;
+    // Tells a player the order of play, within the time budget if there is one.
+    private void notifyStart(SpadesPlayer player, SpadesGameListener listener) throws SpadesRuleViolationException {
+        try {
+            if (timer == null) {
+                player.gameStarted(playerOrderView);
+                return;
+            }
 
+            if (!decide(player, () -> player.gameStarted(playerOrderView)))
+                recordTimeout(player, "reading the order of play", "The game went on without them.", listener);
+        } catch (RuntimeException e) {
+            throw thrown(player, "reading the order of play", e);
+        }
     }
 
-    // Function to notify players and end the simulation when something has gone unrecoverably wrong.
-    public void majorInfraction(SpadesPlayer infractor, String infractionDescription) {
-        System.out.println("Error! Player " + infractor + " failed to abide by the rules.");
-        System.out.println("    ... " + infractionDescription);
-        System.out.println("    ... Please debug the implementation of " + infractor.displayName);
-        System.out.println("    ... This simulation will now end.");
-        System.exit(1);
+    // Notifies a player of the result of a round, within the time budget if there is one.
+    private void notifyResults(SpadesPlayer player,
+                               List<SpadesAction> pastPlays,
+                               long winningPlayerID,
+                               SpadesGameListener listener) throws SpadesRuleViolationException {
+        try {
+            if (timer == null) {
+                player.roundResults(pastPlays, winningPlayerID);
+                return;
+            }
+
+            if (!decide(player, () -> player.roundResults(pastPlays, winningPlayerID)))
+                recordTimeout(player, "reading the round's results", "The game went on without them.", listener);
+        } catch (RuntimeException e) {
+            throw thrown(player, "reading the round's results", e);
+        }
+    }
+
+    // Runs one of a player's decisions within the time budget, lending it their hand.
+    // Returns whether it finished in time; either way the hand is then taken back,
+    // so that an abandoned decision can no longer change it.
+    private boolean decide(SpadesPlayer player, Runnable decision) {
+        SpadesGuardedHand hand = (SpadesGuardedHand)player.hand;
+        hand.lend();
+        try {
+            return timer.run(() -> {
+                hand.borrow();
+                decision.run();
+            });
+        } finally {
+            hand.reclaim();
+        }
+    }
+
+    // Reports an exception thrown by one of a player's methods as the player breaking
+    // the rules, so that it abandons only the game in progress. The engine's own thread
+    // being interrupted while it waits for a decision is passed on as it is.
+    private static SpadesRuleViolationException thrown(SpadesPlayer player, String decision, RuntimeException e) {
+        if (Thread.currentThread().isInterrupted())
+            throw e;
+        return new SpadesRuleViolationException(
+            player.playerID,
+            "Player " + player + " threw an exception while " + decision + ": " + e,
+            e
+        );
+    }
+
+    // The card of the lowest rank in `cards`, in the first suit holding one.
+    private static Card lowestRank(long cards) {
+        for (Rank rank : Rank.allRanks) {
+            long ofRank = cards & CardMask.rank(rank);
+            if (ofRank != 0)
+                return CardMask.first(ofRank);
+        }
+        return CardMask.first(cards);
+    }
+
+    // Counts a decision which ran out of time, and reports it to the listeners.
+    private void recordTimeout(SpadesPlayer player, String decision, String resolution, SpadesGameListener listener) {
+        timeouts[(int)player.playerID]++;
+        timedOut[(int)player.playerID] = true;
+        listener.decisionTimedOut(player, decision, resolution);
+    }
+
+    // Function to end the game in progress when something has gone unrecoverably wrong.
+    // Only this game is abandoned; the caller decides whether to report it and play on.
+    public void majorInfraction(SpadesPlayer infractor, String infractionDescription) throws SpadesRuleViolationException {
+        throw new SpadesRuleViolationException(
+            infractor.playerID,
+            "Player " + infractor + " failed to abide by the rules: " + infractionDescription
+        );
     }
 
     // Function to notify players of a recoverable problem, and the method of resolving it which was used.
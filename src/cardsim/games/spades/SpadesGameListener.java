@@ -0,0 +1,113 @@
+package cardsim.games.spades;
+
+import cardsim.basics.*;
+
+
+// Observes the events of the games a SpadesGame plays.
+//
+// Every hook does nothing by default, so a listener overrides only what it
+// needs. The engine calls its listener unconditionally; when none is attached
+// that is NONE, whose empty calls the JIT compiles away. Hooks are given
+// primitives and the engine's own objects, so firing an event allocates
+// nothing and no text is built unless a listener builds it.
+public interface SpadesGameListener {
+
+    // The listener which ignores every event.
+    public static final SpadesGameListener NONE = new SpadesGameListener() { };
+
+    // Called once the order of play is known, before the bidding.
+    // `playerOrder` holds playerIDs in order of bidding; it must not be modified.
+    public default void gameStarted(long seed, int[] playerOrder, int tricks) { }
+
+    // Called when a player has bid.
+    public default void bidPlaced(SpadesPlayer player, int bid) { }
+
+    // Called as each trick begins, counting from zero.
+    public default void trickStarted(int trick) { }
+
+    // Called when a player has played a card on the given turn of a trick.
+    // `bestSoFar` tells whether the card is now winning the trick.
+    public default void cardPlayed(SpadesPlayer player, Card card, int trick, int turn, boolean bestSoFar) { }
+
+    // Called when a player has won a trick.
+    public default void trickWon(SpadesPlayer winner, int trick) { }
+
+    // Called as each player's hand is scored, in order of playerID.
+    public default void handScored(SpadesPlayer player, int tricksWon, int tricksBid, long points) { }
+
+    // Called when a game has been played to the end, with the points earned by playerID.
+    // `points` must not be modified.
+    public default void gameEnded(long[] points) { }
+
+    // Called when a game is abandoned part of the way through,
+    // for example because a player broke the rules.
+    public default void gameAbandoned(Exception cause) { }
+
+    // Called when a player ran out of time on a decision,
+    // with the decision and what was done in its place.
+    public default void decisionTimedOut(SpadesPlayer player, String decision, String resolution) { }
+
+    // Returns a listener which passes every event to `first` and then to `second`.
+    public static SpadesGameListener both(SpadesGameListener first, SpadesGameListener second) {
+        if (first == NONE)
+            return second;
+        if (second == NONE)
+            return first;
+        return new SpadesGameListener() {
+            @Override
+            public void gameStarted(long seed, int[] playerOrder, int tricks) {
+                first.gameStarted(seed, playerOrder, tricks);
+                second.gameStarted(seed, playerOrder, tricks);
+            }
+
+            @Override
+            public void bidPlaced(SpadesPlayer player, int bid) {
+                first.bidPlaced(player, bid);
+                second.bidPlaced(player, bid);
+            }
+
+            @Override
+            public void trickStarted(int trick) {
+                first.trickStarted(trick);
+                second.trickStarted(trick);
+            }
+
+            @Override
+            public void cardPlayed(SpadesPlayer player, Card card, int trick, int turn, boolean bestSoFar) {
+                first.cardPlayed(player, card, trick, turn, bestSoFar);
+                second.cardPlayed(player, card, trick, turn, bestSoFar);
+            }
+
+            @Override
+            public void trickWon(SpadesPlayer winner, int trick) {
+                first.trickWon(winner, trick);
+                second.trickWon(winner, trick);
+            }
+
+            @Override
+            public void handScored(SpadesPlayer player, int tricksWon, int tricksBid, long points) {
+                first.handScored(player, tricksWon, tricksBid, points);
+                second.handScored(player, tricksWon, tricksBid, points);
+            }
+
+            @Override
+            public void gameEnded(long[] points) {
+                first.gameEnded(points);
+                second.gameEnded(points);
+            }
+
+            @Override
+            public void gameAbandoned(Exception cause) {
+                first.gameAbandoned(cause);
+                second.gameAbandoned(cause);
+            }
+
+            @Override
+            public void decisionTimedOut(SpadesPlayer player, String decision, String resolution) {
+                first.decisionTimedOut(player, decision, resolution);
+                second.decisionTimedOut(player, decision, resolution);
+            }
+        };
+    }
+
+}
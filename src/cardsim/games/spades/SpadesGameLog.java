@@ -0,0 +1,78 @@
+package cardsim.games.spades;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+
+
+// Reads back the games written by a SpadesGameRecorder, across all of its files.
+//
+// Every record in a file has the same size, so game #N is found by working out
+// which file holds it from the files' sizes and then seeking straight to it;
+// nothing is scanned. The files are memory-mapped, so reading a game touches
+// only the pages it sits on.
+public final class SpadesGameLog {
+
+    // Each log file, mapped read-only
+    private final MappedByteBuffer[] files;
+
+    // The size of the records in each file
+    private final int[] recordSizes;
+
+    // The number of games in all of the files before each one,
+    // with the total number of games at the end
+    private final long[] firstGames;
+
+    private SpadesGameLog(List<MappedByteBuffer> files) throws IOException {
+        this.files = files.toArray(new MappedByteBuffer[0]);
+        this.recordSizes = new int[this.files.length];
+        this.firstGames = new long[this.files.length + 1];
+        for (int f = 0; f < this.files.length; f++) {
+            ByteBuffer file = this.files[f];
+            if (file.limit() < 6 || file.getInt(0) != SpadesGameRecorder.MAGIC)
+                throw new IOException("Log file (" + f + ") is not a Spades game log.");
+            if (file.getShort(4) != SpadesGameRecorder.VERSION)
+                throw new IOException("Log file (" + f + ") has unsupported version (" + file.getShort(4) + ").");
+            int games = 0;
+            if (file.limit() > 6) {
+                recordSizes[f] = SpadesGameRecorder.recordSize(file.get(6 + 8), file.get(6 + 9));
+                games = (file.limit() - 6) / recordSizes[f];
+            }
+            firstGames[f + 1] = firstGames[f] + games;
+        }
+    }
+
+    // Opens every log file written with the given prefix, in order.
+    public static SpadesGameLog open(Path directory, String prefix) throws IOException {
+        List<MappedByteBuffer> files = new ArrayList<>();
+        for (int n = 0; Files.exists(SpadesGameRecorder.file(directory, prefix, n)); n++) {
+            try (FileChannel channel = FileChannel.open(SpadesGameRecorder.file(directory, prefix, n), StandardOpenOption.READ)) {
+                files.add(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            }
+        }
+        return new SpadesGameLog(files);
+    }
+
+    // Returns the number of games in the log.
+    public long games() {
+        return firstGames[files.length];
+    }
+
+    // Reads game #`game`, counting from zero across all of the files.
+    public SpadesGameRecord read(long game) {
+        if (game < 0 || game >= games())
+            throw new IndexOutOfBoundsException("Game: " + game + ", Games: " + games());
+        int f = Arrays.binarySearch(firstGames, game);
+        // Files without games share their first game with the next file.
+        if (f >= 0)
+            while (firstGames[f + 1] == game) f++;
+        else
+            f = -f - 2;
+        ByteBuffer file = files[f].duplicate();
+        file.position(6 + (int)(game - firstGames[f]) * recordSizes[f]);
+        return new SpadesGameRecord(file);
+    }
+
+}
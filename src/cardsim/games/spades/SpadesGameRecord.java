@@ -0,0 +1,118 @@
+package cardsim.games.spades;
+
+import cardsim.basics.*;
+import java.nio.ByteBuffer;
+
+
+// One game read back from a log written by SpadesGameRecorder.
+//
+// Besides what was stored, the record works out who played each card and
+// who won each trick, so any trick of the game can be looked at directly.
+public final class SpadesGameRecord {
+
+    // The seed the game was played from
+    public final long seed;
+
+    // The number of players, and of tricks played
+    public final int players;
+    public final int tricks;
+
+    // playerIDs in order of bidding
+    private final int[] order;
+
+    // bids by playerID
+    private final int[] bids;
+
+    // the ordinal of every card and the playerID who played it, in order of play
+    private final byte[] cards;
+    private final byte[] playedBy;
+
+    // the playerID who won each trick
+    private final int[] winners;
+
+    // points earned by playerID
+    private final long[] points;
+
+    // Decodes the record at the buffer's position, advancing past it.
+    SpadesGameRecord(ByteBuffer buffer) {
+        this.seed = buffer.getLong();
+        this.players = buffer.get();
+        this.tricks = buffer.get();
+        this.order = new int[players];
+        this.bids = new int[players];
+        for (int i = 0; i < players; i++) {
+            order[i] = buffer.get();
+        }
+        for (int i = 0; i < players; i++) {
+            bids[order[i]] = buffer.get();
+        }
+        this.cards = new byte[players * tricks];
+        buffer.get(cards);
+        this.points = new long[players];
+        for (int playerID = 0; playerID < players; playerID++) {
+            points[playerID] = buffer.getInt();
+        }
+
+        // Replay the tricks to see who played each card.
+        this.playedBy = new byte[cards.length];
+        this.winners = new int[tricks];
+        int leader = 0;
+        for (int trick = 0; trick < tricks; trick++) {
+            Card best = null;
+            int bestTurn = 0;
+            for (int turn = 0; turn < players; turn++) {
+                Card card = card(trick, turn);
+                playedBy[trick * players + turn] = (byte)order[(leader + turn) % players];
+                if (best == null || SpadesTrick.beats(card, best, card(trick, 0).suit)) {
+                    best = card;
+                    bestTurn = turn;
+                }
+            }
+            winners[trick] = order[(leader + bestTurn) % players];
+            leader = (leader + bestTurn) % players;
+        }
+    }
+
+    // Returns the playerID who bid `n`th.
+    public int bidder(int n) {
+        return order[n];
+    }
+
+    // Returns the bid of a player.
+    public int bid(long playerID) {
+        return bids[(int)playerID];
+    }
+
+    // Returns the card played on the given turn of a trick.
+    public Card card(int trick, int turn) {
+        return Card.of(cards[trick * players + turn]);
+    }
+
+    // Returns the playerID who played on the given turn of a trick.
+    public int player(int trick, int turn) {
+        return playedBy[trick * players + turn];
+    }
+
+    // Returns the playerID who won a trick.
+    public int winner(int trick) {
+        return winners[trick];
+    }
+
+    // Returns the points a player earned.
+    public long points(long playerID) {
+        return points[(int)playerID];
+    }
+
+    // Returns the cards a player still held as the given trick began,
+    // as a mask (see CardMask); trick 0 gives the hand as it was dealt.
+    // With several decks, duplicate cards share a bit.
+    public long hand(long playerID, int trick) {
+        long mask = CardMask.EMPTY;
+        for (int i = trick * players; i < cards.length; i++) {
+            if (playedBy[i] == playerID)
+                mask |= (1L << cards[i]);
+        }
+        return mask;
+    }
+
+}
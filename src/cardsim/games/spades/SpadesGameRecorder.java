@@ -0,0 +1,188 @@
+package cardsim.games.spades;
+
+import cardsim.basics.*;
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+
+
+// Writes every game played by a SpadesGame to a compact binary log.
+//
+// Games are staged in a direct buffer and written to the current file through
+// its FileChannel only when the buffer fills, and a new file is started once
+// the current one passes a size limit. Files are named `prefix-00000.spl`,
+// `prefix-00001.spl` and so on. A recorder is attached to a game as a listener
+// and belongs to that one game instance, so when games run on several threads
+// each should have its own prefix.
+//
+// Each file starts with the int MAGIC and a short VERSION, followed by records:
+//
+//     long      seed           the seed the game was played from
+//     byte      n              the number of players
+//     byte      t              the number of tricks (the hand size)
+//     byte[n]   order          playerIDs in order of bidding
+//     byte[n]   bids           the bids, in order of bidding
+//     byte[n*t] cards          the ordinal of every card, in order of play
+//     int[n]    points         the points earned, by playerID
+//
+// Who played each card need not be stored: the first trick is led by the
+// first bidder, and every later trick by the winner of the one before.
+// Games abandoned for a rule violation are not recorded. The byte fields hold
+// 0 to 127, so games with more players or tricks, or a record larger than
+// the buffer, are refused when they start.
+public final class SpadesGameRecorder implements SpadesGameListener, Closeable {
+
+    public static final int MAGIC = 0x5344_4C47; // "SDLG"
+    public static final short VERSION = 1;
+
+    // The file extension of the logs
+    public static final String EXTENSION = ".spl";
+
+    private final Path directory;
+    private final String prefix;
+    private final long maxFileBytes;
+
+    // Games waiting to be written
+    private final ByteBuffer buffer;
+
+    // The file being written, and its number
+    private FileChannel channel;
+    private int fileNumber;
+
+    // Where the game in progress began in the buffer, or -1 if there is none
+    private int gameStart;
+
+    public SpadesGameRecorder(Path directory, String prefix, long maxFileBytes, int bufferBytes) throws IOException {
+        if (bufferBytes < recordSize(1, 0))
+            throw new IllegalArgumentException("The buffer cannot hold a single record, got (" + bufferBytes + ") bytes.");
+        this.directory = directory;
+        this.prefix = prefix;
+        this.maxFileBytes = maxFileBytes;
+        this.buffer = ByteBuffer.allocateDirect(bufferBytes);
+        this.fileNumber = -1;
+        this.gameStart = -1;
+        Files.createDirectories(directory);
+        roll();
+    }
+
+    public SpadesGameRecorder(Path directory, String prefix) throws IOException {
+        this(directory, prefix, 256L << 20, 1 << 20);
+    }
+
+    // Returns the size in bytes of the record of one game.
+    public static int recordSize(int players, int tricks) {
+        return 8 + 2 + 2*players + players*tricks + 4*players;
+    }
+
+    // Returns the path of the numbered log file with the given prefix.
+    public static Path file(Path directory, String prefix, int fileNumber) {
+        return directory.resolve(String.format("%s-%05d%s", prefix, fileNumber, EXTENSION));
+    }
+
+    // Starts the record of a game, once the order of play is known.
+    @Override
+    public void gameStarted(long seed, int[] playerOrder, int tricks) {
+        int n = playerOrder.length;
+        if (n < 1 || n > Byte.MAX_VALUE)
+            throw new IllegalArgumentException("A record holds 1 to " + Byte.MAX_VALUE + " players, got (" + n + ").");
+        if (tricks < 0 || tricks > Byte.MAX_VALUE)
+            throw new IllegalArgumentException("A record holds 0 to " + Byte.MAX_VALUE + " tricks, got (" + tricks + ").");
+        if (recordSize(n, tricks) > buffer.capacity())
+            throw new IllegalArgumentException("A record of (" + n + ") players and (" + tricks + ") tricks takes ("
+                + recordSize(n, tricks) + ") bytes, more than the buffer's (" + buffer.capacity() + ").");
+        if (buffer.remaining() < recordSize(n, tricks))
+            flush();
+        gameStart = buffer.position();
+        buffer.putLong(seed);
+        buffer.put((byte)n);
+        buffer.put((byte)tricks);
+        for (int playerID : playerOrder) {
+            buffer.put((byte)playerID);
+        }
+    }
+
+    // Records the next bid.
+    @Override
+    public void bidPlaced(SpadesPlayer player, int bid) {
+        if (bid < 0 || bid > Byte.MAX_VALUE) {
+            dropUnfinishedGame();
+            throw new IllegalArgumentException("A record holds bids of 0 to " + Byte.MAX_VALUE + ", got (" + bid + ").");
+        }
+        buffer.put((byte)bid);
+    }
+
+    // Records the next card played.
+    @Override
+    public void cardPlayed(SpadesPlayer player, Card card, int trick, int turn, boolean bestSoFar) {
+        buffer.put((byte)card.ordinal());
+    }
+
+    // Finishes the record of a game with the points earned, by playerID.
+    @Override
+    public void gameEnded(long[] points) {
+        for (long p : points) {
+            buffer.putInt((int)p);
+        }
+        gameStart = -1;
+    }
+
+    // Drops the record of a game which could not be finished.
+    @Override
+    public void gameAbandoned(Exception cause) {
+        dropUnfinishedGame();
+    }
+
+    // Writes all finished games to the current file, starting a new file
+    // first if these games would take the current one past its limit.
+    public void flush() {
+        try {
+            buffer.flip();
+            if (channel.position() > headerSize() && channel.position() + buffer.remaining() > maxFileBytes)
+                roll();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        dropUnfinishedGame();
+        flush();
+        channel.close();
+    }
+
+    // Rewinds the buffer over the game in progress, if there is one.
+    private void dropUnfinishedGame() {
+        if (gameStart >= 0)
+            buffer.position(gameStart);
+        gameStart = -1;
+    }
+
+    // Closes the current file, if any, and starts the next.
+    private void roll() throws IOException {
+        if (channel != null)
+            channel.close();
+        fileNumber++;
+        channel = FileChannel.open(
+            file(directory, prefix, fileNumber),
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE
+        );
+        ByteBuffer header = ByteBuffer.allocate(headerSize());
+        header.putInt(MAGIC).putShort(VERSION).flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+    }
+
+    private static int headerSize() {
+        return 4 + 2;
+    }
+
+}
@@ -0,0 +1,191 @@
+package cardsim.games.spades;
+
+import cardsim.basics.*;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.function.Predicate;
+
+
+// The hand given to each player while decisions are timed (see SpadesDecisionTimer).
+//
+// A decision which runs out of time is abandoned, but its thread may run on and
+// keep using the player's hand. So every call is checked against the one thread
+// allowed to use the hand: the engine's between decisions, and the decision's own
+// while it runs. The engine lends the hand out for each decision and takes it back
+// afterwards, in time or not; once it has, a call from the abandoned thread throws
+// a CancellationException instead of changing the hand. Calls hold the hand's lock,
+// so none is still running when the engine takes the hand back.
+final class SpadesGuardedHand implements Hand {
+
+    // The hand itself
+    private final Hand hand;
+
+    // The thread allowed to use the hand, or null while it is lent
+    // to a decision which has not yet started
+    private Thread owner;
+
+    SpadesGuardedHand(Hand hand) {
+        this.hand = hand;
+        this.owner = Thread.currentThread();
+    }
+
+    // Called by the engine before a decision: until a decision claims the hand
+    // with borrow(), nobody may use it.
+    synchronized void lend() {
+        owner = null;
+    }
+
+    // Called by the decision's thread as it starts, to claim the lent hand.
+    synchronized void borrow() {
+        if (owner != null)
+            throw new CancellationException("The decision was abandoned before it started.");
+        owner = Thread.currentThread();
+    }
+
+    // Called by the engine after a decision, or before it first uses the hand
+    // in a game: from now on only the calling thread may use the hand.
+    synchronized void reclaim() {
+        owner = Thread.currentThread();
+    }
+
+    private void check() {
+        if (Thread.currentThread() != owner)
+            throw new CancellationException("The hand may only be used by its player's decision in progress.");
+    }
+
+    public synchronized boolean play(Card card) {
+        check();
+        return hand.play(card);
+    }
+
+    public synchronized boolean play(int n) {
+        check();
+        return hand.play(n);
+    }
+
+    public synchronized boolean unplay(Card card) {
+        check();
+        return hand.unplay(card);
+    }
+
+    public synchronized boolean unplay(int n) {
+        check();
+        return hand.unplay(n);
+    }
+
+    public synchronized void unplayAll() {
+        check();
+        hand.unplayAll();
+    }
+
+    public synchronized void sortSuitRank() {
+        check();
+        hand.sortSuitRank();
+    }
+
+    public synchronized void sortRankSuit() {
+        check();
+        hand.sortRankSuit();
+    }
+
+    public synchronized void sort(Comparator<Card> comparator) {
+        check();
+        hand.sort(comparator);
+    }
+
+    public synchronized List<Card> filterBySuit(Suit suit) {
+        check();
+        return hand.filterBySuit(suit);
+    }
+
+    public synchronized List<Card> filterByRank(Rank rank) {
+        check();
+        return hand.filterByRank(rank);
+    }
+
+    public synchronized List<Card> filter(Predicate<Card> predicate) {
+        check();
+        return hand.filter(predicate);
+    }
+
+    public synchronized long mask() {
+        check();
+        return hand.mask();
+    }
+
+    public synchronized long suitMask(Suit suit) {
+        check();
+        return hand.suitMask(suit);
+    }
+
+    public synchronized long rankMask(Rank rank) {
+        check();
+        return hand.rankMask(rank);
+    }
+
+    public synchronized int countBySuit(Suit suit) {
+        check();
+        return hand.countBySuit(suit);
+    }
+
+    public synchronized int countByRank(Rank rank) {
+        check();
+        return hand.countByRank(rank);
+    }
+
+    public synchronized void add(Card card) {
+        check();
+        hand.add(card);
+    }
+
+    public synchronized void addAll(Card[] cards, int offset, int length) {
+        check();
+        hand.addAll(cards, offset, length);
+    }
+
+    public synchronized int size() {
+        check();
+        return hand.size();
+    }
+
+    public synchronized int scheduledSize() {
+        check();
+        return hand.scheduledSize();
+    }
+
+    public synchronized List<Card> getCards() {
+        check();
+        return hand.getCards();
+    }
+
+    public synchronized List<Card> getScheduledCards() {
+        check();
+        return hand.getScheduledCards();
+    }
+
+    public synchronized Card accept() {
+        check();
+        return hand.accept();
+    }
+
+    public synchronized List<Card> accept(int n) {
+        check();
+        return hand.accept(n);
+    }
+
+    public synchronized List<Card> acceptAll() {
+        check();
+        return hand.acceptAll();
+    }
+
+    public synchronized void returnUnused() {
+        check();
+        hand.returnUnused();
+    }
+
+    public synchronized void clear() {
+        check();
+        hand.clear();
+    }
+
+}
@@ -0,0 +1,67 @@
+package cardsim.games.spades;
+
+import cardsim.basics.*;
+
+
+// Keys for single-deck Spades hands which are the same for every hand of a class
+// of equivalent hands, so that what is worked out for one hand can be reused for the rest.
+//
+// Clubs, diamonds and hearts play alike in Spades, so two hands which differ only
+// by a swap of those suits are equivalent. A key can also keep only the highest
+// ranks of each suit exactly and count the rest, for evaluations which only look
+// at the honours and the length of each suit, which makes the classes far larger.
+//
+// A key is itself a CardMask: the hand of its class whose side suits are sorted
+// (the greatest in CLUBS' bits), and whose uncounted cards are the lowest of their suit.
+public final class SpadesHandKey {
+
+    // The number of ranks in a suit, and the mask of one suit in the lowest bits
+    private static final int RANKS = 13;
+    private static final long SUIT = (1L << RANKS) - 1;
+
+    // The bit offset of each suit in a CardMask
+    private static final int CLUBS    = Suit.CLUBS.ordinal() * RANKS;
+    private static final int DIAMONDS = Suit.DIAMONDS.ordinal() * RANKS;
+    private static final int HEARTS   = Suit.HEARTS.ordinal() * RANKS;
+    private static final int SPADES   = Suit.SPADES.ordinal() * RANKS;
+
+    private SpadesHandKey() { }
+
+    // Returns the key of a hand under swaps of the side suits alone,
+    // so that only hands which play exactly alike share it.
+    public static long exact(long hand) {
+        return of(hand, RANKS);
+    }
+
+    // Returns the key of a hand under swaps of the side suits, keeping the
+    // `significant` highest ranks of each suit and only the number of the others.
+    // A significant count of 13 keeps every card; of 0, only the length of each suit.
+    public static long of(long hand, int significant) {
+        if (significant < 0 || significant > RANKS)
+            throw new IllegalArgumentException("Between 0 and " + RANKS + " significant ranks can be kept, got (" + significant + ").");
+        if ((hand & CardMask.LOW_ACES) != 0)
+            throw new IllegalArgumentException("A hand with LOW_ACE cards has no key.");
+
+        long clubs    = suit(hand >>> CLUBS    & SUIT, significant);
+        long diamonds = suit(hand >>> DIAMONDS & SUIT, significant);
+        long hearts   = suit(hand >>> HEARTS   & SUIT, significant);
+        long spades   = suit(hand >>> SPADES   & SUIT, significant);
+
+        // Sort the side suits, greatest first, with three compare-and-swaps.
+        long swap;
+        if (clubs < diamonds) { swap = clubs;    clubs = diamonds;    diamonds = swap; }
+        if (diamonds < hearts) { swap = diamonds; diamonds = hearts;  hearts = swap;   }
+        if (clubs < diamonds) { swap = clubs;    clubs = diamonds;    diamonds = swap; }
+
+        return clubs << CLUBS | diamonds << DIAMONDS | hearts << HEARTS | spades << SPADES;
+    }
+
+    // Keeps the `significant` highest ranks of one suit's cards,
+    // and moves the others down to the lowest ranks.
+    private static long suit(long cards, int significant) {
+        long high = cards & (SUIT << (RANKS - significant)) & SUIT;
+        int low = Long.bitCount(cards & ~high);
+        return high | ((1L << low) - 1);
+    }
+
+}
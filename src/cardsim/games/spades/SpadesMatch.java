@@ -0,0 +1,304 @@
+package cardsim.games.spades;
+
+import cardsim.games.*;
+import java.util.*;
+
+
+// A partnership match of Spades: hands are played one after another until a
+// partnership reaches the target score, as the game is usually played.
+//
+// Players sit in order of playerID and partners sit opposite each other, so
+// with n players partnership p is the playerIDs p and p + n/2, and a lineup
+// such as (A, B, A, B) pits the two A players against the two B players.
+// The first dealer is drawn at random and the deal passes one seat along after
+// every hand; the player after the dealer bids first and leads the first trick.
+//
+// Each hand, a partnership scores 10 points per trick of its contract (the sum
+// of its members' bids) if its members take at least that many tricks, and
+// loses as many if not; each trick over the contract is a bag worth 1 point,
+// and every tenth bag costs 100 points. A bid of 0 is nil: the bidder wins
+// 100 points by taking no tricks and loses 100 otherwise, and the tricks they
+// take do not count toward their partner's contract. A player whose
+// partnership is behind by 100 or more may bid blind nil before the deal,
+// for 200 points either way.
+//
+// The match ends once a partnership has reached the target, or has fallen to
+// the floor, and one partnership leads; after the maximum number of hands it
+// ends whoever leads. The points of a match are each partnership's final score,
+// given to both of its players.
+//
+// The players, their hands and the deck are made once per match and reused for
+// every hand, as are the game's arrays, so a match allocates about as little
+// as a single hand. Listeners and a decision budget are those of the SpadesGame
+// it is played on; listeners see each hand as a game, scored per player as
+// SpadesGame scores it.
+//
+// Each hand draws a seed of its own from the match's generator and is shuffled
+// from it exactly as SpadesGame.game(seed) shuffles, and that seed is the one
+// listeners are given. The seed of a recorded hand therefore reproduces its
+// deal, though not its play, which also depends on the hands before it.
+public final class SpadesMatch implements SimulatableGame<SpadesPlayerImpls> {
+
+    // The usual target and floor of a match, and a bound on its length
+    public static final long DEFAULT_TARGET = 500;
+    public static final long DEFAULT_FLOOR = -200;
+    public static final int DEFAULT_MAX_HANDS = 100;
+
+    // The points for a nil bid and a blind nil bid, made or lost,
+    // and how far behind a partnership must be to bid blind nil
+    public static final long NIL = 100;
+    public static final long BLIND_NIL = 200;
+    public static final long BLIND_NIL_DEFICIT = 100;
+
+    // The bags which cost a penalty, and the penalty
+    public static final int BAG_LIMIT = 10;
+    public static final long BAG_PENALTY = 100;
+
+    // The game every hand is played on
+    private final SpadesGame game;
+
+    private final long target;
+    private final long floor;
+    private final int maxHands;
+
+    // The number of partnerships, and the partnership of each playerID
+    private final int partnerships;
+    private final int[] partnershipOf;
+
+    // The state of the match in progress, reused from match to match.
+
+    // The order of play of the hand in progress
+    private final int[] order;
+
+    // Which players bid blind nil this hand, by playerID
+    private final boolean[] blindNil;
+
+    // The score, and the bags carried, of each partnership
+    private final long[] scores;
+    private final int[] bags;
+
+    // The contract and the tricks counted toward it this hand, by partnership
+    private final int[] contracts;
+    private final int[] tricks;
+
+    // The number of hands in the last match, and the partnership which won it, or -1
+    private int handsPlayed;
+    private int winner;
+
+    public SpadesMatch(SpadesGame game, long target, long floor, int maxHands) {
+        int n = game.playerCount();
+        if (n < 4 || n % 2 != 0)
+            throw new IllegalArgumentException("A partnership match needs an even number of at least 4 players, got (" + n + ").");
+        if (floor >= target)
+            throw new IllegalArgumentException("The floor (" + floor + ") must lie below the target (" + target + ").");
+        if (maxHands < 1)
+            throw new IllegalArgumentException("A match must allow at least one hand, got (" + maxHands + ").");
+        this.game = game;
+        this.target = target;
+        this.floor = floor;
+        this.maxHands = maxHands;
+        this.partnerships = n / 2;
+        this.partnershipOf = new int[n];
+        for (int playerID = 0; playerID < n; playerID++)
+            partnershipOf[playerID] = playerID % partnerships;
+        this.order = new int[n];
+        this.blindNil = new boolean[n];
+        this.scores = new long[partnerships];
+        this.bags = new int[partnerships];
+        this.contracts = new int[partnerships];
+        this.tricks = new int[partnerships];
+        this.handsPlayed = 0;
+        this.winner = -1;
+    }
+
+    public SpadesMatch(SpadesPlayerImpls... playerImpls) {
+        this(new SpadesGame(playerImpls), DEFAULT_TARGET, DEFAULT_FLOOR, DEFAULT_MAX_HANDS);
+    }
+
+    // Returns the game every hand is played on, to add listeners or a decision budget to.
+    public SpadesGame getGame() {
+        return game;
+    }
+
+    public int playerCount() {
+        return game.playerCount();
+    }
+
+    public SpadesPlayerImpls implementation(long playerID) {
+        return game.implementation(playerID);
+    }
+
+    // Returns the partnership of a player, from 0 to playerCount() / 2 - 1.
+    public int partnership(long playerID) {
+        return partnershipOf[(int)playerID];
+    }
+
+    // Returns a partnership's final score in the last match.
+    public long score(int partnership) {
+        return scores[partnership];
+    }
+
+    // Returns the partnership which won the last match, or -1 if it ended level.
+    public int winner() {
+        return winner;
+    }
+
+    public int handsPlayed() {
+        return handsPlayed;
+    }
+
+    // Returns the bags a partnership carried at the end of the last match.
+    public int bags(int partnership) {
+        return bags[partnership];
+    }
+
+    public Map<Long, Long> game(long seed) throws SpadesRuleViolationException {
+        long[] points = new long[playerCount()];
+        game(seed, points);
+        Map<Long, Long> finalScore = new HashMap<>(points.length);
+        for (int playerID = 0; playerID < points.length; playerID++)
+            finalScore.put((long)playerID, points[playerID]);
+        return finalScore;
+    }
+
+    // Plays a match from the given seed, writing each player's
+    // partnership's final score into `points`, indexed by playerID.
+    @Override
+    public void game(long seed, long[] points) throws SpadesRuleViolationException {
+        SpadesGameListener listener = game.listener();
+        try {
+            play(seed, listener);
+        } catch (SpadesRuleViolationException | RuntimeException e) {
+            listener.gameAbandoned(e);
+            throw e;
+        }
+        for (int playerID = 0; playerID < points.length; playerID++)
+            points[playerID] = scores[partnershipOf[playerID]];
+    }
+
+    @Override
+    public void close() {
+        game.close();
+    }
+
+    private void play(long seed, SpadesGameListener listener) throws SpadesRuleViolationException {
+
+        final int n = order.length;
+
+        // Every random choice in this match, including those of the players,
+        // is drawn from this generator or from streams split off of it.
+        SplittableRandom random = new SplittableRandom(seed);
+
+        game.seatPlayers(random);
+
+        Arrays.fill(scores, 0);
+        Arrays.fill(bags, 0);
+        handsPlayed = 0;
+        winner = -1;
+
+        int dealer = random.nextInt(n);
+
+        while (true) {
+
+            // The player after the dealer bids and leads first.
+            for (int turn = 0; turn < n; turn++)
+                order[turn] = (dealer + 1 + turn) % n;
+
+            // Those far enough behind may bid blind nil before seeing their cards.
+            for (int turn = 0; turn < n; turn++) {
+                int playerID = order[turn];
+                int partnership = partnershipOf[playerID];
+                long leading = leadingScore(partnership);
+                blindNil[playerID] = leading - scores[partnership] >= BLIND_NIL_DEFICIT
+                    && game.requestBlindNil(game.player(playerID), scores[partnership], leading, listener);
+            }
+
+            long handSeed = random.nextLong();
+            game.deal(new SplittableRandom(handSeed), order);
+            game.playHand(handSeed, blindNil, listener);
+            game.scoreHand(listener);
+            scoreHand(game.state(), blindNil);
+            handsPlayed++;
+
+            if (isOver())
+                break;
+            dealer = (dealer + 1) % n;
+        }
+
+    }
+
+    // Adds the hand just played to each partnership's score,
+    // given which players bid blind nil, by playerID.
+    void scoreHand(SpadesState state, boolean[] blindNil) {
+
+        Arrays.fill(contracts, 0);
+        Arrays.fill(tricks, 0);
+
+        for (int playerID = 0; playerID < order.length; playerID++) {
+            int partnership = partnershipOf[playerID];
+            int bid = state.bid(playerID);
+            int taken = state.taken(playerID);
+            if (bid == 0) {
+                // A nil bid stands alone, and its tricks help no one.
+                long value = blindNil[playerID] ? BLIND_NIL : NIL;
+                scores[partnership] += (taken == 0) ? value : -value;
+            } else {
+                contracts[partnership] += bid;
+                tricks[partnership] += taken;
+            }
+        }
+
+        for (int p = 0; p < partnerships; p++) {
+            if (contracts[p] == 0)
+                continue;
+            if (tricks[p] < contracts[p]) {
+                scores[p] -= 10L * contracts[p];
+                continue;
+            }
+            int over = tricks[p] - contracts[p];
+            scores[p] += 10L * contracts[p] + over;
+            bags[p] += over;
+            while (bags[p] >= BAG_LIMIT) {
+                bags[p] -= BAG_LIMIT;
+                scores[p] -= BAG_PENALTY;
+            }
+        }
+
+    }
+
+    // The best score of any partnership but the given one.
+    private long leadingScore(int partnership) {
+        long leading = Long.MIN_VALUE;
+        for (int p = 0; p < partnerships; p++) {
+            if (p != partnership)
+                leading = Math.max(leading, scores[p]);
+        }
+        return leading;
+    }
+
+    // Whether the match is decided, setting the winner if it is. A match which
+    // has reached the target or the floor goes on while the lead is shared.
+    private boolean isOver() {
+        long best = Long.MIN_VALUE;
+        long worst = Long.MAX_VALUE;
+        int leader = -1;
+        boolean shared = false;
+        for (int p = 0; p < partnerships; p++) {
+            if (scores[p] > best) {
+                best = scores[p];
+                leader = p;
+                shared = false;
+            } else if (scores[p] == best) {
+                shared = true;
+            }
+            worst = Math.min(worst, scores[p]);
+        }
+        boolean decided = (best >= target || worst <= floor) && !shared;
+        if (decided || handsPlayed >= maxHands) {
+            winner = shared ? -1 : leader;
+            return true;
+        }
+        return false;
+    }
+
+}
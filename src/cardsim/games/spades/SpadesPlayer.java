@@ -4,7 +4,11 @@ import cardsim.basics.*;
 import java.util.*;
 
 
-public abstract class SpadesPlayer {
+// A player is built once and may then play many games. Before each game after
+// its first the engine empties its hand and offers it reset(); a player which
+// accepts keeps whatever it built once, such as tables or threads, and the engine
+// closes it when it is done with it. Players which decline are built anew each game.
+public abstract class SpadesPlayer implements AutoCloseable {
 
     // The player's hand.
     // It is public, but no player will be able
@@ -29,6 +33,33 @@ public abstract class SpadesPlayer {
     }
 
 
+    // Called before each game after the first, with the hand emptied, to play the
+    // next game from `random`, the stream it would have been built with for that game.
+    // Return true once the player has forgotten the last game, so that it plays
+    // exactly as a newly built player would; by default players return false,
+    // and are closed and built anew.
+    public boolean reset(SplittableRandom random) {
+        return false;
+    }
+
+    // Called when the engine is done with the player, to release what it holds.
+    // By default it does nothing.
+    @Override
+    public void close() { }
+
+    // Called at the start of each game, before the bidding, with the playerIDs
+    // in the order in which they bid and play the first trick.
+    // By default it does nothing.
+    public void gameStarted(List<Long> playerOrder) { }
+
+    // Called in a SpadesMatch before the cards are dealt, when your partnership
+    // is behind by enough to bid blind nil, with its score and the leading one.
+    // Returning true bids blind nil: no tricks, for twice the points of a nil bid.
+    // By default it declines.
+    public boolean bidBlindNil(long score, long leadingScore) {
+        return false;
+    }
+
     // Called when you are required to bid
     public abstract int getBid(List<SpadesBid> pastBids);
 
@@ -37,6 +68,17 @@ public abstract class SpadesPlayer {
                                   Map<Long, Integer> tricksGoal,
                                   Map<Long, Integer> tricksTaken);
 
+    // Called when you are required to play a card, with the mask (see CardMask)
+    // of the cards in your hand which the rules allow you to play.
+    // The engine works this out once per decision and calls this version;
+    // by default it ignores the mask and calls the one above.
+    public void playCard(List<SpadesAction> pastPlays,
+                         Map<Long, Integer> tricksGoal,
+                         Map<Long, Integer> tricksTaken,
+                         long legalMoves) {
+        playCard(pastPlays, tricksGoal, tricksTaken);
+    }
+
     // Called to notify the player of the result of a round.
     public abstract void roundResults(List<SpadesAction> roundPlays,
                                       long winningPlayerID);
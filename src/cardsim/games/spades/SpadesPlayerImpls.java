@@ -2,6 +2,7 @@ package cardsim.games.spades;
 
 import cardsim.basics.*;
 import cardsim.games.spades.players.*;
+import java.util.SplittableRandom;
 
 
 // This class links together the implementations of spades players
@@ -11,19 +12,27 @@ public enum SpadesPlayerImpls {
    /*
    HighCard {
         @Override
-        public SpadesPlayer get(Hand hand, long playerID) {
+        public SpadesPlayer get(Hand hand, long playerID, SplittableRandom random) {
             return new HighCardSpadesPlayer(hand, this.name(), playerID);
         }
     },
     */
     Random {
         @Override
-        public SpadesPlayer get(Hand hand, long playerID) {
-            return new RandomSpadesPlayer(hand, "Random", playerID);
+        public SpadesPlayer get(Hand hand, long playerID, SplittableRandom random) {
+            return new RandomSpadesPlayer(hand, "Random", playerID, random);
+        }
+    },
+    MonteCarlo {
+        @Override
+        public SpadesPlayer get(Hand hand, long playerID, SplittableRandom random) {
+            return new MonteCarloSpadesPlayer(hand, "MonteCarlo", playerID, random);
         }
     };
 
     // Creates a SpadesPlayer of a type decided by each individual enum member.
-    public abstract SpadesPlayer get(Hand hand, long playerID);
+    // The player is given its own random stream, split from the game's,
+    // and should draw all of its randomness from it so that games replay exactly.
+    public abstract SpadesPlayer get(Hand hand, long playerID, SplittableRandom random);
     
 }
\ No newline at end of file
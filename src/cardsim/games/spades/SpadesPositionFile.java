@@ -0,0 +1,91 @@
+package cardsim.games.spades;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+
+
+// A file of saved positions in a SpadesGameLog, for replaying decisions in bulk.
+//
+// Each position names a game in the log, a trick of that game, and the turn
+// within the trick, and takes a fixed 10 bytes, so position #i is read straight
+// from its offset. The file starts with the int MAGIC and the number of positions.
+//
+//     long   game     the game's number in the log
+//     byte   trick    the trick, counting from zero
+//     byte   turn     the turn within the trick, counting from zero
+public final class SpadesPositionFile {
+
+    public static final int MAGIC = 0x5344_5053; // "SDPS"
+
+    private static final int HEADER_SIZE = 4 + 4;
+    private static final int ENTRY_SIZE = 8 + 1 + 1;
+
+    // The file, mapped read-only
+    private final MappedByteBuffer file;
+
+    private final int positions;
+
+    private SpadesPositionFile(MappedByteBuffer file) throws IOException {
+        if (file.limit() < HEADER_SIZE || file.getInt(0) != MAGIC)
+            throw new IOException("Not a Spades position file.");
+        this.file = file;
+        this.positions = file.getInt(4);
+        if (file.limit() < HEADER_SIZE + (long)positions * ENTRY_SIZE)
+            throw new IOException("The position file is truncated.");
+    }
+
+    // Opens a position file for reading.
+    public static SpadesPositionFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new SpadesPositionFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    // Writes a position file; entry i is (games[i], tricks[i], turns[i]).
+    public static void write(Path path, long[] games, int[] tricks, int[] turns) throws IOException {
+        int n = games.length;
+        if (tricks.length != n || turns.length != n)
+            throw new IllegalArgumentException("Every position needs a game, a trick and a turn.");
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + n * ENTRY_SIZE);
+        buffer.putInt(MAGIC).putInt(n);
+        for (int i = 0; i < n; i++) {
+            buffer.putLong(games[i]).put((byte)tricks[i]).put((byte)turns[i]);
+        }
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    // Returns the number of positions in the file.
+    public int positions() {
+        return positions;
+    }
+
+    // Returns the game of position #i.
+    public long game(int i) {
+        return file.getLong(offset(i));
+    }
+
+    // Returns the trick of position #i.
+    public int trick(int i) {
+        return file.get(offset(i) + 8);
+    }
+
+    // Returns the turn of position #i.
+    public int turn(int i) {
+        return file.get(offset(i) + 9);
+    }
+
+    private int offset(int i) {
+        if (i < 0 || i >= positions)
+            throw new IndexOutOfBoundsException("Position: " + i + ", Positions: " + positions);
+        return HEADER_SIZE + i * ENTRY_SIZE;
+    }
+
+}
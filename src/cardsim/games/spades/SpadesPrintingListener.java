@@ -0,0 +1,66 @@
+package cardsim.games.spades;
+
+import cardsim.basics.*;
+import java.io.PrintStream;
+
+
+// Describes each game as it is played, in plain text.
+// This is what a verbose game prints.
+public final class SpadesPrintingListener implements SpadesGameListener {
+
+    // The listener which prints to standard output.
+    public static final SpadesPrintingListener STDOUT = new SpadesPrintingListener(System.out);
+
+    private final PrintStream out;
+
+    public SpadesPrintingListener(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void bidPlaced(SpadesPlayer player, int bid) {
+        out.println(player + " bid " + bid + " tricks.");
+    }
+
+    @Override
+    public void trickStarted(int trick) {
+        out.println("-- Trick " + (trick + 1) + " --");
+    }
+
+    @Override
+    public void cardPlayed(SpadesPlayer player, Card card, int trick, int turn, boolean bestSoFar) {
+        if (turn == 0) {
+            out.println(player + " began the round playing [" + card + "]");
+        } else {
+            out.println("In response, " + player + " played [" + card + "]");
+            if (bestSoFar)
+                out.println("    ... It's the new best card!");
+        }
+    }
+
+    @Override
+    public void trickWon(SpadesPlayer winner, int trick) {
+        out.println(winner + " won the trick!");
+        out.println();
+    }
+
+    @Override
+    public void handScored(SpadesPlayer player, int tricksWon, int tricksBid, long points) {
+        out.println(player + " won " + tricksWon + "/" + tricksBid + " predicted tricks, receiving " + points + " points.");
+    }
+
+    @Override
+    public void gameAbandoned(Exception cause) {
+        out.println("The game was abandoned: " + cause.getMessage());
+    }
+
+    @Override
+    public void decisionTimedOut(SpadesPlayer player, String decision, String resolution) {
+        out.println("Error! Player " + player + " failed to abide by the rules.");
+        out.println("    ... Ran out of time while " + decision + ".");
+        out.println("    ... Please debug the implementation of " + player.displayName);
+        out.println("    ... " + resolution);
+        out.println("    ... This simulation will continue.");
+    }
+
+}
@@ -0,0 +1,157 @@
+package cardsim.games.spades;
+
+import cardsim.basics.*;
+import java.util.*;
+import java.util.function.IntPredicate;
+
+
+// Asks one player implementation what it would play at recorded positions.
+//
+// Each position is set up from the record without asking the player anything
+// before it: a fresh player is dealt the hand it was dealt in the game and told
+// the order of play, then sees the result of every earlier trick through
+// roundResults, its own recorded card taken from its hand each time, so that
+// players which follow the game as it goes know what they knew in the game.
+// Only then is it asked for a card, seeing the recorded bids, the tricks taken
+// so far and the cards already played to the trick. It is never asked to bid.
+public final class SpadesReplay {
+
+    // One decision asked of the player under test.
+    public static final class Decision {
+
+        // The trick in which the decision was made
+        public final int trick;
+
+        // The card played in the record
+        public final Card recorded;
+
+        // The card the player chose, or null if it did not play exactly one card
+        public final Card chosen;
+
+        Decision(int trick, Card recorded, Card chosen) {
+            this.trick = trick;
+            this.recorded = recorded;
+            this.chosen = chosen;
+        }
+
+        // Whether the player chose the recorded card.
+        public boolean agrees() {
+            return recorded == chosen;
+        }
+
+        @Override
+        public String toString() {
+            return "Trick " + (trick + 1) + ": chose [" + chosen + "], recorded [" + recorded + "]";
+        }
+
+    }
+
+    private SpadesReplay() { }
+
+    // Asks `impl`, in the seat of player `playerID`, to play in each trick
+    // of a recorded game for which `chosenTricks` holds.
+    // The player at each position draws its randomness from `seed`.
+    // Returns the decisions made, in order of trick.
+    public static List<Decision> replay(SpadesGameRecord record,
+                                        SpadesPlayerImpls impl,
+                                        long playerID,
+                                        IntPredicate chosenTricks,
+                                        long seed) {
+        List<Decision> decisions = new ArrayList<>();
+        for (int trick = 0; trick < record.tricks; trick++) {
+            if (chosenTricks.test(trick))
+                decisions.add(decide(record, impl, playerID, trick, seed));
+        }
+        return decisions;
+    }
+
+    // Replays saved position #i of a position file against its game in the log,
+    // asking `impl` to play only at that position.
+    public static Decision replay(SpadesGameLog log,
+                                  SpadesPositionFile positions,
+                                  int i,
+                                  SpadesPlayerImpls impl,
+                                  long seed) {
+        SpadesGameRecord record = log.read(positions.game(i));
+        int trick = positions.trick(i);
+        long playerID = record.player(trick, positions.turn(i));
+        return decide(record, impl, playerID, trick, seed);
+    }
+
+    // Sets up the given trick of a record, up to player `playerID`'s turn,
+    // and asks a new player built by `impl` what it would play there.
+    private static Decision decide(SpadesGameRecord record,
+                                   SpadesPlayerImpls impl,
+                                   long playerID,
+                                   int trick,
+                                   long seed) {
+
+        int n = record.players;
+
+        // The hand the player was dealt, which is every card it went on to play.
+        // With several decks it may hold duplicates, which a BitHand cannot.
+        List<Card> held = new ArrayList<>(record.tricks);
+        for (int t = 0; t < record.tricks; t++)
+        for (int turn = 0; turn < n; turn++) {
+            if (record.player(t, turn) == playerID)
+                held.add(record.card(t, turn));
+        }
+        Hand hand = (CardMask.count(CardMask.of(held)) == held.size())
+            ? new BitHand(held)
+            : new MultiHand(held);
+        SpadesPlayer player = impl.get(hand, playerID, new SplittableRandom(seed));
+
+        try {
+            // The order of play is the order of bidding.
+            List<Long> playerOrder = new ArrayList<>(n);
+            for (int i = 0; i < n; i++)
+                playerOrder.add((long)record.bidder(i));
+            player.gameStarted(Collections.unmodifiableList(playerOrder));
+
+            // The bids, and the tricks each player had taken before this one
+            int[] tricksGoal = new int[n];
+            int[] tricksTaken = new int[n];
+            for (int id = 0; id < n; id++)
+                tricksGoal[id] = record.bid(id);
+
+            // The earlier tricks, as recorded, with the player's own cards played for it
+            List<SpadesAction> roundPlays = new ArrayList<>(n);
+            for (int t = 0; t < trick; t++) {
+                roundPlays.clear();
+                for (int turn = 0; turn < n; turn++) {
+                    int actor = record.player(t, turn);
+                    Card card = record.card(t, turn);
+                    if (actor == playerID) {
+                        hand.play(card);
+                        hand.accept();
+                    }
+                    roundPlays.add(new SpadesAction(actor, card));
+                }
+                player.roundResults(roundPlays, record.winner(t));
+                tricksTaken[record.winner(t)]++;
+            }
+
+            // The cards played to the trick before the player's turn
+            List<SpadesAction> pastPlays = new ArrayList<>(n);
+            int turn = 0;
+            while (record.player(trick, turn) != playerID) {
+                pastPlays.add(new SpadesAction(record.player(trick, turn), record.card(trick, turn)));
+                turn++;
+            }
+
+            Suit led = pastPlays.isEmpty() ? null : pastPlays.get(0).cardPlayed.suit;
+            player.playCard(
+                pastPlays,
+                new PlayerIntMap(tricksGoal),
+                new PlayerIntMap(tricksTaken),
+                SpadesTrick.legalMoves(hand, led)
+            );
+            Card chosen = (hand.scheduledSize() == 1) ? hand.getScheduledCards().get(0) : null;
+            return new Decision(trick, record.card(trick, turn), chosen);
+        } finally {
+            player.close();
+        }
+
+    }
+
+}
@@ -1,8 +1,20 @@
 package cardsim.games.spades;
 
+import cardsim.games.*;
+
+
+public class SpadesRuleViolationException extends RuleViolationException {
+    private static final long serialVersionUID = 1L;
+
+    public SpadesRuleViolationException(long playerID, String message) {
+        super(playerID, message);
+    }
+
+    public SpadesRuleViolationException(long playerID, String message, Throwable cause) {
+        super(playerID, message, cause);
+    }
 
-public class SpadesRuleViolationException extends Exception {
     public SpadesRuleViolationException(String message) {
         super(message);
     }
-}
\ No newline at end of file
+}
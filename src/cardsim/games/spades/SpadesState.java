@@ -0,0 +1,313 @@
+package cardsim.games.spades;
+
+import cardsim.basics.*;
+import java.util.*;
+
+
+// The state of a game of Spades from the bidding onwards,
+// held in a few primitive arrays so that it is cheap to copy and to play out.
+//
+// Hands are CardMasks indexed by playerID, and seats are positions in the
+// order of play. A state knows everything, so a player simulating the game
+// fills in the hands it cannot see with a guess. Moves are not checked
+// against the rules beyond what legalMoves() returns.
+//
+// A mask holds each card once, so with several decks a hand only says which
+// cards a player holds at least one of, and playing one copy takes them all.
+// SpadesGame copies the mover's hand in before every move, which keeps the
+// rules right; a search which makes several moves in a row, as the Monte
+// Carlo player and the double-dummy solver do, is only sound with one deck.
+//
+// Every move made is remembered in a single long, so that a search can take
+// moves back with unmakeMove() rather than copying the state at every step.
+// Nothing is allocated by making or taking back a move.
+public final class SpadesState {
+
+    private static final Suit[] suits = Suit.values();
+
+    // Stands for the suit led before any card is played to a trick
+    private static final int NO_SUIT = 0xFF;
+
+    // The number of players, and of tricks in the game
+    public final int players;
+    public final int tricks;
+
+    // The playerIDs in order of play, and the seat of each playerID
+    private final int[] order;
+    private final int[] seats;
+
+    // The cards in each player's hand, by playerID
+    private final long[] hands;
+
+    // The tricks each player bid and has taken, by playerID
+    private final int[] bids;
+    private final int[] taken;
+
+    // The number of tricks finished so far
+    private int trick;
+
+    // The seat which leads the current trick, and the number of cards played to it
+    private int leader;
+    private int turn;
+
+    // The suit led in the current trick, and the seat, ordinal and strength
+    // (see SpadesTrick.strength) of the card winning it so far
+    private Suit led;
+    private int bestSeat;
+    private int bestCard;
+    private int bestStrength;
+
+    // The moves made since the state was last started, most recent last,
+    // each packed with what it changed (see makeMove)
+    private final long[] history;
+    private int depth;
+
+    // Creates the state before the first trick,
+    // with empty hands and no bids, led by the first player in `order`.
+    public SpadesState(int[] order, int tricks) {
+        this.players = order.length;
+        this.tricks = tricks;
+        this.order = order.clone();
+        this.seats = new int[players];
+        for (int seat = 0; seat < players; seat++) {
+            seats[order[seat]] = seat;
+        }
+        this.hands = new long[players];
+        this.bids = new int[players];
+        this.taken = new int[players];
+        this.trick = 0;
+        this.leader = 0;
+        this.turn = 0;
+        this.led = null;
+        this.bestSeat = -1;
+        this.bestCard = -1;
+        this.bestStrength = 0;
+        this.history = new long[players * tricks];
+        this.depth = 0;
+    }
+
+    // Returns a copy of this state, which can be played on independently.
+    public SpadesState copy() {
+        SpadesState copy = new SpadesState(order, tricks);
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    // Makes this state equal to another of the same game, without allocating.
+    public void copyFrom(SpadesState other) {
+        if (other.players != players)
+            throw new IllegalArgumentException("Cannot copy a state of " + other.players + " players into one of " + players + ".");
+        System.arraycopy(other.order, 0, order, 0, players);
+        System.arraycopy(other.seats, 0, seats, 0, players);
+        System.arraycopy(other.hands, 0, hands, 0, players);
+        System.arraycopy(other.bids, 0, bids, 0, players);
+        System.arraycopy(other.taken, 0, taken, 0, players);
+        trick = other.trick;
+        leader = other.leader;
+        turn = other.turn;
+        led = other.led;
+        bestSeat = other.bestSeat;
+        bestCard = other.bestCard;
+        bestStrength = other.bestStrength;
+        System.arraycopy(other.history, 0, history, 0, other.depth);
+        depth = other.depth;
+    }
+
+    // Starts a new game in this state with the given order of play, with empty hands,
+    // no bids and no tricks taken, led by the first player in `order`.
+    public void reset(int[] order) {
+        if (order.length != players)
+            throw new IllegalArgumentException("Cannot seat " + order.length + " players in a state of " + players + ".");
+        for (int seat = 0; seat < players; seat++) {
+            this.order[seat] = order[seat];
+            seats[order[seat]] = seat;
+        }
+        Arrays.fill(hands, CardMask.EMPTY);
+        Arrays.fill(bids, 0);
+        Arrays.fill(taken, 0);
+        startTrick(0, order[0]);
+    }
+
+    public void setHand(int playerID, long hand) {
+        hands[playerID] = hand;
+    }
+
+    public void setBid(int playerID, int bid) {
+        bids[playerID] = bid;
+    }
+
+    // Starts the state at the beginning of a trick, with `finished` tricks already
+    // played, led by the given player. The tricks taken are left as they are,
+    // and the moves made before cannot be taken back.
+    public void startTrick(int finished, int leaderID) {
+        trick = finished;
+        leader = seats[leaderID];
+        turn = 0;
+        led = null;
+        bestSeat = -1;
+        bestCard = -1;
+        bestStrength = 0;
+        depth = 0;
+    }
+
+    public void setTaken(int playerID, int tricksTaken) {
+        taken[playerID] = tricksTaken;
+    }
+
+    public long hand(int playerID) {
+        return hands[playerID];
+    }
+
+    public int bid(int playerID) {
+        return bids[playerID];
+    }
+
+    public int taken(int playerID) {
+        return taken[playerID];
+    }
+
+    // Returns the playerID in the given seat.
+    public int player(int seat) {
+        return order[seat];
+    }
+
+    // Returns the number of tricks finished.
+    public int trick() {
+        return trick;
+    }
+
+    // Returns the playerID leading the current trick.
+    // Once a trick is finished, this is the player who won it.
+    public int leader() {
+        return order[leader];
+    }
+
+    // Returns the number of cards played to the current trick.
+    public int turn() {
+        return turn;
+    }
+
+    // Returns the suit led in the current trick, or null if no card has been played to it.
+    public Suit led() {
+        return led;
+    }
+
+    // Returns the playerID winning the current trick so far, or -1 if no card has been played to it.
+    public int winningSoFar() {
+        return (bestSeat < 0) ? -1 : order[bestSeat];
+    }
+
+    // Returns the card winning the current trick so far, or null if no card has been played to it.
+    public Card winningCard() {
+        return (bestCard < 0) ? null : Card.of(bestCard);
+    }
+
+    // Returns the playerID of the player to move.
+    public int toMove() {
+        return order[(leader + turn) % players];
+    }
+
+    public boolean isOver() {
+        return trick == tricks;
+    }
+
+    // Returns whether the card with the given ordinal, played now,
+    // would be winning the current trick, by beating every card played to it so far.
+    public boolean takesLead(int ordinal) {
+        Suit suit = (led == null) ? Card.of(ordinal).suit : led;
+        return SpadesTrick.strength(ordinal, suit) > bestStrength;
+    }
+
+    // Returns the number of moves which can be taken back.
+    public int depth() {
+        return depth;
+    }
+
+    // Returns the mask of the cards the player to move may play.
+    public long legalMoves() {
+        long hand = hands[toMove()];
+        if (led != null) {
+            long following = hand & CardMask.suit(led);
+            if (following != CardMask.EMPTY)
+                return following;
+        }
+        return hand;
+    }
+
+    // Plays the card with the given ordinal from the hand of the player to move.
+    // Once every player has played to the trick, its winner takes it and leads the next.
+    public void makeMove(int ordinal) {
+        history[depth++] = ordinal
+                         | (long)leader << 8
+                         | (long)turn << 16
+                         | (long)((led == null) ? NO_SUIT : led.ordinal()) << 24
+                         | (long)(bestSeat + 1) << 32
+                         | (long)(bestCard + 1) << 40
+                         | (long)bestStrength << 48;
+
+        int seat = (leader + turn) % players;
+        hands[order[seat]] &= ~(1L << ordinal);
+        if (turn == 0)
+            led = Card.of(ordinal).suit;
+        int strength = SpadesTrick.strength(ordinal, led);
+        if (strength > bestStrength) {
+            bestStrength = strength;
+            bestCard = ordinal;
+            bestSeat = seat;
+        }
+        if (++turn == players) {
+            taken[order[bestSeat]]++;
+            trick++;
+            leader = bestSeat;
+            turn = 0;
+            led = null;
+            bestSeat = -1;
+            bestCard = -1;
+            bestStrength = 0;
+        }
+    }
+
+    public void makeMove(Card card) {
+        makeMove(card.ordinal());
+    }
+
+    // Takes back the last move made, returning the card to the hand it came from.
+    public void unmakeMove() {
+        if (depth == 0)
+            throw new IllegalStateException("There is no move to take back.");
+        long move = history[--depth];
+        int ordinal = (int)(move & 0xFF);
+        int lastTurn = (int)(move >>> 16 & 0xFF);
+
+        // A move which finished a trick gave it to the player now leading.
+        if (lastTurn == players - 1) {
+            taken[order[leader]]--;
+            trick--;
+        }
+
+        leader = (int)(move >>> 8 & 0xFF);
+        turn = lastTurn;
+        int suit = (int)(move >>> 24 & 0xFF);
+        led = (suit == NO_SUIT) ? null : suits[suit];
+        bestSeat = (int)(move >>> 32 & 0xFF) - 1;
+        bestCard = (int)(move >>> 40 & 0xFF) - 1;
+        bestStrength = (int)(move >>> 48 & 0xFF);
+        hands[order[(leader + turn) % players]] |= 1L << ordinal;
+    }
+
+    // Returns the points the given player would score if the game ended now.
+    public long score(int playerID) {
+        return score(taken[playerID], bids[playerID]);
+    }
+
+    // Returns the points for a hand which won `tricksWon` tricks after bidding `tricksBid`.
+    public static long score(int tricksWon, int tricksBid) {
+        // If the player won fewer tricks than they bet, they win nothing at all.
+        if (tricksWon < tricksBid)
+            return 0;
+        // But if they met or exceeded their goal,
+        // they get 10 points per trick, and -10 for each over their bet.
+        return Math.max(0, 10*(2*tricksBid - tricksWon));
+    }
+
+}
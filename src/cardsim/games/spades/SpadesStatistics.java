@@ -0,0 +1,102 @@
+package cardsim.games.spades;
+
+import cardsim.games.*;
+
+
+// Running statistics of the hands one implementation has played:
+// its points, and how closely it made its bids.
+//
+// Memory is constant however many hands are added, and two accumulators
+// combine exactly with merge(), so every thread can keep its own.
+public final class SpadesStatistics {
+
+    // The default histogram bins: one per 10 points, from 0 to 130 and one over,
+    // which covers every score of a 13 trick hand.
+    public static final long DEFAULT_HISTOGRAM_LOW = 0;
+    public static final long DEFAULT_HISTOGRAM_WIDTH = 10;
+    public static final int DEFAULT_HISTOGRAM_BINS = 14;
+
+    // The points scored per hand
+    private final RunningStatistics points;
+    private final Histogram histogram;
+
+    // Tricks won minus tricks bid, per hand
+    private final RunningStatistics bidError;
+
+    // The number of hands which won at least as many tricks as they bid,
+    // and which won exactly as many
+    private long bidsMade;
+    private long bidsExact;
+
+    public SpadesStatistics(long histogramLow, long histogramWidth, int histogramBins) {
+        this.points = new RunningStatistics();
+        this.histogram = new Histogram(histogramLow, histogramWidth, histogramBins);
+        this.bidError = new RunningStatistics();
+        this.bidsMade = 0;
+        this.bidsExact = 0;
+    }
+
+    public SpadesStatistics() {
+        this(DEFAULT_HISTOGRAM_LOW, DEFAULT_HISTOGRAM_WIDTH, DEFAULT_HISTOGRAM_BINS);
+    }
+
+    // Adds one scored hand.
+    public void add(int tricksWon, int tricksBid, long score) {
+        points.add(score);
+        histogram.add(score);
+        bidError.add(tricksWon - tricksBid);
+        if (tricksWon >= tricksBid)
+            bidsMade++;
+        if (tricksWon == tricksBid)
+            bidsExact++;
+    }
+
+    // Adds every hand another accumulator has seen. Both must have the same histogram bins.
+    public void merge(SpadesStatistics other) {
+        points.merge(other.points);
+        histogram.merge(other.histogram);
+        bidError.merge(other.bidError);
+        bidsMade += other.bidsMade;
+        bidsExact += other.bidsExact;
+    }
+
+    // Returns the number of hands added.
+    public long hands() {
+        return points.count();
+    }
+
+    // Returns the mean, variance and range of the points scored per hand.
+    public RunningStatistics points() {
+        return points;
+    }
+
+    public Histogram histogram() {
+        return histogram;
+    }
+
+    // Returns the mean, variance and range of tricks won minus tricks bid.
+    // A positive mean means the implementation bids too low.
+    public RunningStatistics bidError() {
+        return bidError;
+    }
+
+    // Returns the fraction of hands which won at least as many tricks as they bid.
+    public double bidAccuracy() {
+        return (hands() == 0) ? 0.0 : (double)bidsMade / hands();
+    }
+
+    // Returns the fraction of hands which won exactly as many tricks as they bid.
+    public double exactBidRate() {
+        return (hands() == 0) ? 0.0 : (double)bidsExact / hands();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d hands, points mean %.3f (sd %.3f, min %.0f, max %.0f), "
+                             + "bids made %.2f%%, exact %.2f%%, mean error %+.3f tricks",
+                             hands(), points.mean(), points.standardDeviation(),
+                             points.min(), points.max(),
+                             100 * bidAccuracy(), 100 * exactBidRate(), bidError.mean());
+    }
+
+}
@@ -0,0 +1,118 @@
+package cardsim.games.spades;
+
+import java.util.*;
+
+
+// Gathers SpadesStatistics for each implementation seated at a game,
+// from the hands of every game which is played to the end.
+//
+// A listener belongs to one game instance and so to one thread. To gather
+// statistics over several threads, give each game its own listener and
+// merge them once the games are done, for example:
+//
+//     Queue<SpadesStatisticsListener> listeners = new ConcurrentLinkedQueue<>();
+//     new BatchRunner().run(() -> {
+//         SpadesGame game = new SpadesGame(...);
+//         listeners.add(SpadesStatisticsListener.attachTo(game));
+//         return game;
+//     }, games, seed);
+//     SpadesStatisticsListener total = SpadesStatisticsListener.merged(listeners);
+public final class SpadesStatisticsListener implements SpadesGameListener {
+
+    // The implementation of each playerID, or empty for a listener
+    // which only holds merged totals
+    private final SpadesPlayerImpls[] implementations;
+
+    private final EnumMap<SpadesPlayerImpls, SpadesStatistics> statistics;
+
+    // The hands of the game in progress, by playerID, which are only
+    // added to the statistics once the game has ended
+    private final int[] tricksWon;
+    private final int[] tricksBid;
+    private final long[] scores;
+
+    // Listens to the games of the given instance, which must also be given this listener.
+    public SpadesStatisticsListener(SpadesGame game) {
+        int n = game.playerCount();
+        this.implementations = new SpadesPlayerImpls[n];
+        this.statistics = new EnumMap<>(SpadesPlayerImpls.class);
+        for (int id = 0; id < n; id++) {
+            implementations[id] = game.implementation(id);
+            statistics.computeIfAbsent(implementations[id], k -> new SpadesStatistics());
+        }
+        this.tricksWon = new int[n];
+        this.tricksBid = new int[n];
+        this.scores = new long[n];
+    }
+
+    // Creates a listener holding no statistics and listening to no game,
+    // into which others can be merged.
+    public SpadesStatisticsListener() {
+        this.implementations = new SpadesPlayerImpls[0];
+        this.statistics = new EnumMap<>(SpadesPlayerImpls.class);
+        this.tricksWon = new int[0];
+        this.tricksBid = new int[0];
+        this.scores = new long[0];
+    }
+
+    // Creates a listener for the given game and adds it to the game.
+    public static SpadesStatisticsListener attachTo(SpadesGame game) {
+        SpadesStatisticsListener listener = new SpadesStatisticsListener(game);
+        game.addListener(listener);
+        return listener;
+    }
+
+    // Returns a new listener holding the statistics of all of the given listeners.
+    public static SpadesStatisticsListener merged(Collection<SpadesStatisticsListener> listeners) {
+        SpadesStatisticsListener total = new SpadesStatisticsListener();
+        for (SpadesStatisticsListener listener : listeners) {
+            total.merge(listener);
+        }
+        return total;
+    }
+
+    @Override
+    public void handScored(SpadesPlayer player, int won, int bid, long points) {
+        int id = (int)player.playerID;
+        tricksWon[id] = won;
+        tricksBid[id] = bid;
+        scores[id] = points;
+    }
+
+    @Override
+    public void gameEnded(long[] points) {
+        for (int id = 0; id < implementations.length; id++) {
+            statistics.get(implementations[id]).add(tricksWon[id], tricksBid[id], scores[id]);
+        }
+    }
+
+    // Adds the statistics of another listener to this one's.
+    // The other listener should not be listening to a game while this is done.
+    public void merge(SpadesStatisticsListener other) {
+        for (Map.Entry<SpadesPlayerImpls, SpadesStatistics> e : other.statistics.entrySet()) {
+            statistics.computeIfAbsent(e.getKey(), k -> new SpadesStatistics()).merge(e.getValue());
+        }
+    }
+
+    // Returns the implementations with statistics, in declaration order.
+    public Set<SpadesPlayerImpls> implementations() {
+        return Collections.unmodifiableSet(statistics.keySet());
+    }
+
+    // Returns the statistics of an implementation, or null if it has not played.
+    public SpadesStatistics get(SpadesPlayerImpls impl) {
+        return statistics.get(impl);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<SpadesPlayerImpls, SpadesStatistics> e : statistics.entrySet()) {
+            if (sb.length() > 0)
+                sb.append(System.lineSeparator());
+            sb.append(e.getKey()).append(": ").append(e.getValue());
+        }
+        return sb.toString();
+    }
+
+}
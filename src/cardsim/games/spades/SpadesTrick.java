@@ -0,0 +1,85 @@
+package cardsim.games.spades;
+
+import cardsim.basics.*;
+
+
+// The rules deciding which cards may be played to a trick of Spades,
+// and who wins it, for the engine and for players.
+//
+// Who wins is decided by a precomputed strength for every card under every
+// suit led: the rank's value for cards of the suit led, that plus TRUMP for
+// spades, and 0 for any other card, which cannot win. The winner of a trick
+// is then the first card of the greatest strength, and whether a card would
+// beat another is a comparison of two small integers.
+public final class SpadesTrick {
+
+    // The strength added to every spade, which puts it above any other suit.
+    public static final int TRUMP = 16;
+
+    // strengths[led.ordinal() * Card.COUNT + card.ordinal()]
+    private static final byte[] strengths = new byte[Suit.values().length * Card.COUNT];
+
+    static {
+        for (Suit led : Suit.values())
+        for (int ordinal = 0; ordinal < Card.COUNT; ordinal++) {
+            Card card = Card.of(ordinal);
+            int strength;
+            if (card.suit == Suit.SPADES)
+                strength = TRUMP + card.rank.value;
+            else if (card.suit == led)
+                strength = card.rank.value;
+            else
+                strength = 0;
+            strengths[led.ordinal() * Card.COUNT + ordinal] = (byte)strength;
+        }
+    }
+
+    private SpadesTrick() { }
+
+    // Returns the strength of a card in a trick whose first card was of the suit `led`.
+    // Of two cards in the same trick the stronger wins, and a card of strength 0 cannot win.
+    public static int strength(Card card, Suit led) {
+        return strengths[led.ordinal() * Card.COUNT + card.ordinal()];
+    }
+
+    // Returns the strength of the card with the given ordinal (see Card.ordinal()).
+    public static int strength(int ordinal, Suit led) {
+        return strengths[led.ordinal() * Card.COUNT + ordinal];
+    }
+
+    // Returns the mask of the cards in `hand` which may be played to a trick
+    // whose first card was of the suit `led`, or to a new trick if `led` is null.
+    // A player must follow the suit led if they can, and may play anything otherwise.
+    public static long legalMoves(Hand hand, Suit led) {
+        if (led != null) {
+            long following = hand.suitMask(led);
+            if (following != CardMask.EMPTY)
+                return following;
+        }
+        return hand.mask();
+    }
+
+    // Returns whether `card` beats `best`, the card winning so far,
+    // in a trick whose first card was of the suit `led`.
+    // Equal cards do not beat each other, so the first one played wins.
+    public static boolean beats(Card card, Card best, Suit led) {
+        return strength(card, led) > strength(best, led);
+    }
+
+    // Returns the turn on which the winning card of a trick was played,
+    // given the first `count` cards of the trick in order of play.
+    public static int winner(Card[] cards, int count) {
+        int offset = cards[0].suit.ordinal() * Card.COUNT;
+        int best = 0;
+        int bestStrength = strengths[offset + cards[0].ordinal()];
+        for (int turn = 1; turn < count; turn++) {
+            int strength = strengths[offset + cards[turn].ordinal()];
+            if (strength > bestStrength) {
+                best = turn;
+                bestStrength = strength;
+            }
+        }
+        return best;
+    }
+
+}
@@ -0,0 +1,449 @@
+package cardsim.games.spades.players;
+
+import cardsim.basics.*;
+import cardsim.games.spades.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+
+// A player which chooses each card by determinized Monte Carlo search.
+//
+// For every decision it deals the cards it has not seen among the other
+// players at random, keeping to what it has observed: the cards already
+// played, how many cards each player holds, and the suits a player has shown
+// it is out of by failing to follow. For each such deal it plays every legal
+// card and finishes the game with random legal play, then plays the card which
+// scored it the most points on average.
+//
+// The rollouts are cut into a fixed number of tasks run on an executor, each
+// task drawing from its own stream split off of the player's, so with a
+// rollout budget the choice is the same however many threads the executor has.
+// With a time budget each task also stops when time runs out, which trades
+// that reproducibility for a bound on the decision's length.
+//
+// The player only simulates single-deck games. When the deck does not divide
+// evenly among the players, the cards left undealt are unseen cards like any
+// other, and each deal leaves a random few of them out of every hand.
+// With several decks, where an unseen card may have been dealt more than once,
+// or without having been told the order of play, it plays randomly.
+public final class MonteCarloSpadesPlayer extends SpadesPlayer {
+
+    // The default number of deals sampled per decision, and of tasks they are cut into
+    public static final int DEFAULT_ROLLOUTS = 256;
+    public static final int DEFAULT_TASKS = 8;
+
+    // All 52 cards from TWO to ACE
+    private static final long FULL_DECK = CardMask.ALL & ~CardMask.LOW_ACES;
+
+    // The ranks of each suit the bid looks at, and the bids worked out so far
+    private static final int BID_RANKS = 3;
+    private static final SpadesBidCache bidCache = new SpadesBidCache();
+
+    // Worker threads never keep the simulation alive on their own.
+    private static final ThreadFactory daemonThreads = r -> {
+        Thread thread = new Thread(r, "spades-monte-carlo");
+        thread.setDaemon(true);
+        return thread;
+    };
+
+    // The executor shared by every player built without one of its own
+    private static ExecutorService sharedPool;
+
+    private SplittableRandom random;
+
+    // Runs the rollouts, or null to run them on the calling thread
+    private final ExecutorService pool;
+
+    // The number of tasks each decision is cut into, the number of deals
+    // sampled per decision, and the time allowed per decision, or 0 for no limit
+    private final int tasks;
+    private final int rollouts;
+    private final long budgetNanos;
+
+    // What this player has seen of the game in progress:
+    // the playerIDs in order of play, the number of tricks in the game
+    // and finished, and the cards played to finished tricks
+    private int[] order;
+    private int tricks;
+    private int tricksPlayed;
+    private long played;
+
+    // The suits each player is known not to hold, as a mask of all their cards
+    private long[] voids;
+
+    public MonteCarloSpadesPlayer(Hand hand, String displayName, long playerID,
+                                  SplittableRandom random, ExecutorService pool,
+                                  int tasks, int rollouts, long budget, TimeUnit unit) {
+        super(hand, displayName, playerID);
+        if (tasks < 1)
+            throw new IllegalArgumentException("At least one task is required, got (" + tasks + ").");
+        if (rollouts < 1)
+            throw new IllegalArgumentException("At least one rollout is required, got (" + rollouts + ").");
+        this.random = random;
+        this.pool = pool;
+        this.tasks = tasks;
+        this.rollouts = rollouts;
+        this.budgetNanos = unit.toNanos(budget);
+        this.order = null;
+        this.tricks = hand.size();
+        this.tricksPlayed = 0;
+        this.played = CardMask.EMPTY;
+        this.voids = null;
+    }
+
+    // Creates a player with the default budget, which runs on the shared executor.
+    public MonteCarloSpadesPlayer(Hand hand, String displayName, long playerID, SplittableRandom random) {
+        this(hand, displayName, playerID, random, sharedPool(), DEFAULT_TASKS, DEFAULT_ROLLOUTS, 0, TimeUnit.NANOSECONDS);
+    }
+
+    // Returns the executor shared by players built without one of their own,
+    // with a daemon thread for each available processor.
+    public static synchronized ExecutorService sharedPool() {
+        if (sharedPool == null)
+            sharedPool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), daemonThreads);
+        return sharedPool;
+    }
+
+    // Forgets the last game; the executor and budget are kept.
+    @Override
+    public boolean reset(SplittableRandom random) {
+        this.random = random;
+        this.order = null;
+        this.tricks = hand.size();
+        this.tricksPlayed = 0;
+        this.played = CardMask.EMPTY;
+        this.voids = null;
+        return true;
+    }
+
+    @Override
+    public void gameStarted(List<Long> playerOrder) {
+        order = new int[playerOrder.size()];
+        for (int seat = 0; seat < order.length; seat++) {
+            order[seat] = playerOrder.get(seat).intValue();
+        }
+        tricks = hand.size();
+        tricksPlayed = 0;
+        played = CardMask.EMPTY;
+        voids = new long[order.length];
+    }
+
+    // Bids the tricks the hand should win on its own: aces, kings with one
+    // more card of their suit to guard them, queens with two, and in spades
+    // also every card past the third, which should win by trumping.
+    // Since that only looks at the top three ranks and the length of each suit,
+    // the bid is worked out once per class of such hands and kept in bidCache().
+    public int getBid(List<SpadesBid> pastBids) {
+
+        long cards = hand.mask();
+        int bid = ((cards & CardMask.LOW_ACES) == 0)
+            ? bidCache.bid(SpadesHandKey.of(cards, BID_RANKS), MonteCarloSpadesPlayer::estimateBid)
+            : estimateBid(cards);
+        return Math.min(bid, hand.size());
+
+    }
+
+    // Returns the cache of bids shared by every Monte Carlo player.
+    public static SpadesBidCache bidCache() {
+        return bidCache;
+    }
+
+    private static int estimateBid(long cards) {
+        double expected = 0;
+        for (Suit s : Suit.values()) {
+            long suit = cards & CardMask.suit(s);
+            int length = CardMask.count(suit);
+            if (CardMask.contains(suit, Card.of(Rank.ACE, s)))
+                expected += 1;
+            if (CardMask.contains(suit, Card.of(Rank.KING, s)) && length >= 2)
+                expected += 1;
+            if (CardMask.contains(suit, Card.of(Rank.QUEEN, s)) && length >= 3)
+                expected += 0.5;
+            if (s == Suit.SPADES && length > 3)
+                expected += length - 3;
+        }
+        return (int)Math.round(expected);
+    }
+
+    public void playCard(List<SpadesAction> pastPlays,
+                         Map<Long, Integer> tricksGoal,
+                         Map<Long, Integer> tricksTaken) {
+
+        Suit beginningSuit = pastPlays.isEmpty() ? null : pastPlays.get(0).cardPlayed.suit;
+        playCard(pastPlays, tricksGoal, tricksTaken, SpadesTrick.legalMoves(hand, beginningSuit));
+
+    }
+
+    @Override
+    public void playCard(List<SpadesAction> pastPlays,
+                         Map<Long, Integer> tricksGoal,
+                         Map<Long, Integer> tricksTaken,
+                         long legalMoves) {
+
+        int choices = CardMask.count(legalMoves);
+        if (choices == 1) {
+            hand.play(CardMask.first(legalMoves));
+            return;
+        }
+
+        if (order == null) {
+            hand.play(CardMask.nth(legalMoves, random.nextInt(choices)));
+            return;
+        }
+        observe(pastPlays);
+
+        // The cards which could be in another player's hand, and how many each holds.
+        long myHand = hand.mask();
+        long unseen = FULL_DECK & ~myHand & ~played;
+        int[] holding = new int[order.length];
+        int unseenCount = 0;
+        for (int id = 0; id < order.length; id++) {
+            holding[id] = (id == playerID) ? 0 : tricks - tricksPlayed;
+        }
+        for (SpadesAction action : pastPlays) {
+            unseen &= ~CardMask.bit(action.cardPlayed);
+            holding[(int)action.playerID]--;
+        }
+        for (int id = 0; id < order.length; id++) {
+            unseenCount += holding[id];
+        }
+
+        // A game this player cannot simulate, such as one with several decks.
+        // With one deck there are at least as many unseen cards as cards held
+        // by the others; any more were never dealt.
+        boolean oneDeck = order.length * tricks <= CardMask.count(FULL_DECK);
+        if (!oneDeck || unseenCount > CardMask.count(unseen) || CardMask.count(myHand) != tricks - tricksPlayed) {
+            hand.play(CardMask.nth(legalMoves, random.nextInt(choices)));
+            return;
+        }
+
+        // Everything known about the game; each rollout fills in the unseen hands.
+        Situation situation = new Situation(
+            order, tricks, tricksPlayed, (int)playerID, myHand, unseen, holding, voids.clone(),
+            pastPlays.toArray(new SpadesAction[0]), tricksGoal, tricksTaken, legalMoves
+        );
+        long deadline = (budgetNanos > 0) ? System.nanoTime() + budgetNanos : 0;
+
+        List<Callable<Rollouts>> work = new ArrayList<>(tasks);
+        for (int t = 0; t < tasks; t++) {
+            int share = rollouts / tasks + ((t < rollouts % tasks) ? 1 : 0);
+            SplittableRandom stream = random.split();
+            if (share > 0)
+                work.add(() -> situation.rollouts(share, stream, deadline));
+        }
+
+        // Total the points each move scored, in task order.
+        long[] points = new long[choices];
+        long[] counts = new long[choices];
+        try {
+            if (pool == null) {
+                for (Callable<Rollouts> task : work)
+                    task.call().addTo(points, counts);
+            } else {
+                for (Future<Rollouts> future : pool.invokeAll(work))
+                    future.get().addTo(points, counts);
+            }
+        } catch (InterruptedException e) {
+            // Out of time: the engine has already played a card in our place.
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException)cause;
+            if (cause instanceof Error)
+                throw (Error)cause;
+            throw new IllegalStateException(cause);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+
+        // Play the move with the best average, the lowest card among equals.
+        int best = 0;
+        for (int m = 1; m < choices; m++) {
+            if (points[m] * counts[best] > points[best] * counts[m])
+                best = m;
+        }
+        hand.play(situation.moves[best]);
+
+    }
+
+    public void roundResults(List<SpadesAction> roundPlays,
+                             long winningPlayerID) {
+        if (order == null)
+            return;
+        observe(roundPlays);
+        for (SpadesAction action : roundPlays) {
+            played |= CardMask.bit(action.cardPlayed);
+        }
+        tricksPlayed++;
+    }
+
+    // Notes the suits players have shown they are out of, by failing to follow the suit led.
+    private void observe(List<SpadesAction> plays) {
+        if (plays.isEmpty())
+            return;
+        Suit led = plays.get(0).cardPlayed.suit;
+        for (SpadesAction action : plays) {
+            if (action.cardPlayed.suit != led)
+                voids[(int)action.playerID] |= CardMask.suit(led);
+        }
+    }
+
+    // A snapshot of one decision, which any number of tasks may sample from at once.
+    private static final class Situation {
+
+        final int[] order;
+        final int tricks;
+        final int tricksPlayed;
+        final int me;
+        final long myHand;
+
+        // The cards no one has seen, and how many of them each player holds
+        final long unseen;
+        final int[] holding;
+        final long[] voids;
+
+        // The cards played to the current trick
+        final SpadesAction[] trick;
+
+        final int[] bids;
+        final int[] taken;
+
+        // The legal moves, lowest first
+        final Card[] moves;
+
+        Situation(int[] order, int tricks, int tricksPlayed, int me, long myHand,
+                  long unseen, int[] holding, long[] voids, SpadesAction[] trick,
+                  Map<Long, Integer> tricksGoal, Map<Long, Integer> tricksTaken,
+                  long legalMoves) {
+            this.order = order;
+            this.tricks = tricks;
+            this.tricksPlayed = tricksPlayed;
+            this.me = me;
+            this.myHand = myHand;
+            this.unseen = unseen;
+            this.holding = holding;
+            this.voids = voids;
+            this.trick = trick;
+            this.bids = new int[order.length];
+            this.taken = new int[order.length];
+            for (int id = 0; id < order.length; id++) {
+                bids[id] = tricksGoal.get((long)id);
+                taken[id] = tricksTaken.get((long)id);
+            }
+            this.moves = CardMask.toList(legalMoves).toArray(new Card[0]);
+        }
+
+        // Samples `count` deals, playing every move in each, and stopping early at the deadline if there is one.
+        Rollouts rollouts(int count, SplittableRandom random, long deadline) {
+            Rollouts result = new Rollouts(moves.length);
+            SpadesState dealt = new SpadesState(order, tricks);
+            SpadesState state = new SpadesState(order, tricks);
+            long[] hands = new long[order.length];
+
+            for (int r = 0; r < count; r++) {
+                if (r > 0 && deadline != 0 && System.nanoTime() - deadline > 0)
+                    break;
+
+                // Deal the unseen cards, then put back and replay the current trick.
+                deal(random, hands);
+                hands[me] = myHand;
+                for (SpadesAction action : trick)
+                    hands[(int)action.playerID] |= CardMask.bit(action.cardPlayed);
+                for (int id = 0; id < order.length; id++) {
+                    dealt.setHand(id, hands[id]);
+                    dealt.setBid(id, bids[id]);
+                    dealt.setTaken(id, taken[id]);
+                }
+                dealt.startTrick(tricksPlayed, (trick.length == 0) ? me : (int)trick[0].playerID);
+                for (SpadesAction action : trick)
+                    dealt.makeMove(action.cardPlayed);
+
+                // Try every move against the same deal.
+                for (int m = 0; m < moves.length; m++) {
+                    state.copyFrom(dealt);
+                    state.makeMove(moves[m]);
+                    while (!state.isOver()) {
+                        long legal = state.legalMoves();
+                        state.makeMove(CardMask.nth(legal, random.nextInt(CardMask.count(legal))));
+                    }
+                    result.points[m] += state.score(me);
+                    result.counts[m]++;
+                }
+            }
+            return result;
+        }
+
+        // Deals the unseen cards at random into `hands`, as many as each player holds
+        // and any left over to no one, never giving a player a suit
+        // they are known to be out of. Players with the fewest cards they could hold
+        // are dealt first; if that still goes wrong, a few more tries are made before
+        // the voids are ignored.
+        void deal(SplittableRandom random, long[] hands) {
+            for (int attempt = 0; attempt < 16; attempt++) {
+                if (tryDeal(random, hands, true))
+                    return;
+            }
+            tryDeal(random, hands, false);
+        }
+
+        private boolean tryDeal(SplittableRandom random, long[] hands, boolean keepVoids) {
+            long remaining = unseen;
+            boolean[] dealt = new boolean[order.length];
+            Arrays.fill(hands, CardMask.EMPTY);
+            for (int step = 0; step < order.length; step++) {
+
+                // The player with the least room to spare goes next.
+                int next = -1;
+                int slack = Integer.MAX_VALUE;
+                for (int id = 0; id < order.length; id++) {
+                    if (dealt[id] || holding[id] == 0)
+                        continue;
+                    long allowed = remaining & (keepVoids ? ~voids[id] : CardMask.ALL);
+                    int room = CardMask.count(allowed) - holding[id];
+                    if (room < slack) {
+                        slack = room;
+                        next = id;
+                    }
+                }
+                if (next < 0)
+                    break;
+                if (slack < 0)
+                    return false;
+
+                dealt[next] = true;
+                long allowed = remaining & (keepVoids ? ~voids[next] : CardMask.ALL);
+                for (int i = 0; i < holding[next]; i++) {
+                    long bit = CardMask.bit(CardMask.nth(allowed, random.nextInt(CardMask.count(allowed))));
+                    hands[next] |= bit;
+                    allowed &= ~bit;
+                    remaining &= ~bit;
+                }
+            }
+            return true;
+        }
+
+    }
+
+    // The points each move scored, and the number of times it was tried, over some rollouts.
+    private static final class Rollouts {
+
+        final long[] points;
+        final long[] counts;
+
+        Rollouts(int moves) {
+            this.points = new long[moves];
+            this.counts = new long[moves];
+        }
+
+        void addTo(long[] totalPoints, long[] totalCounts) {
+            for (int m = 0; m < points.length; m++) {
+                totalPoints[m] += points[m];
+                totalCounts[m] += counts[m];
+            }
+        }
+
+    }
+
+}
@@ -7,11 +7,18 @@ import java.util.*;
 
 public final class RandomSpadesPlayer extends SpadesPlayer {
 
-    private final Random random;
+    private SplittableRandom random;
 
-    public RandomSpadesPlayer(Hand hand, String displayName, long playerID) {
+    public RandomSpadesPlayer(Hand hand, String displayName, long playerID, SplittableRandom random) {
         super(hand, displayName, playerID);
-        this.random = new Random();
+        this.random = random;
+    }
+
+    // Nothing is remembered from game to game but the random stream.
+    @Override
+    public boolean reset(SplittableRandom random) {
+        this.random = random;
+        return true;
     }
 
     public int getBid(List<SpadesBid> pastBids) {
@@ -36,30 +43,26 @@ public final class RandomSpadesPlayer extends SpadesPlayer {
     public void playCard(List<SpadesAction> pastPlays,
                          Map<Long, Integer> tricksGoal,
                          Map<Long, Integer> tricksTaken) {
-        
-        // Of course, we ignore most of the input here and just
-        // play a random card (of the selection of valid cards)
-        
-        // If we're the first player, just choose randomly of course.
-        if (pastPlays.isEmpty())
-            hand.play(random.nextInt(hand.size()));
-        // Otherwise, play a random card of the right suit,
-        // or if there are none, a totally random card.
-        else {
-            // We need to know the round's beginning suit.
-            Suit beginningSuit = pastPlays.get(0).cardPlayed.suit;
-
-            // Now we see which cards we have of the right suit.
-            List<Card> correctSuit = hand.filterBySuit(beginningSuit);
-
-            // If we have some, play one of those.
-            if (!correctSuit.isEmpty())
-                hand.play(correctSuit.get(random.nextInt(correctSuit.size())));
-            // Otherwise, we can play a random card like before.
-            else
-                hand.play(random.nextInt(hand.size()));
 
-        }
+        // Work out which cards we may play, as the engine would have.
+        Suit beginningSuit = pastPlays.isEmpty() ? null : pastPlays.get(0).cardPlayed.suit;
+        playCard(pastPlays, tricksGoal, tricksTaken, SpadesTrick.legalMoves(hand, beginningSuit));
+
+    }
+
+    @Override
+    public void playCard(List<SpadesAction> pastPlays,
+                         Map<Long, Integer> tricksGoal,
+                         Map<Long, Integer> tricksTaken,
+                         long legalMoves) {
+
+        // Of course, we ignore most of the input here and just
+        // play a random card of the selection of valid cards:
+        // any card when leading, one of the suit led if we have any,
+        // or otherwise a totally random card.
+        // With several decks the mask holds each card once however many
+        // copies we have, so every distinct card is equally likely.
+        hand.play(CardMask.nth(legalMoves, random.nextInt(CardMask.count(legalMoves))));
 
     }
 